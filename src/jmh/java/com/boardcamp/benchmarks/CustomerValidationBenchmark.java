@@ -0,0 +1,100 @@
+package com.boardcamp.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.boardcamp.dtos.CustomerDTO;
+import com.boardcamp.validators.CustomerValidator;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Validação de um lote de clientes, a parte de CPU do cadastro em massa (o banco fica de fora; o cadastro de ponta
+ * a ponta está em ServiceBenchmark.createCustomer). Compara o caminho anterior, String.matches no serviço mais o
+ * Bean Validation da entidade no persist, com a passada única do CustomerValidator.
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="CustomerValidationBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerValidationBenchmark {
+
+    @Param("1000")
+    public int batchSize;
+
+    private List<CustomerDTO> batch;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        batch = new ArrayList<>(batchSize);
+        for (int i = 1; i <= batchSize; i++) {
+            batch.add(new CustomerDTO("Cliente " + i, "119" + String.format("%08d", i), SeededDatabase.cpf(i)));
+        }
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public int regexAndEntityValidation() {
+        int accepted = 0;
+        for (CustomerDTO dto : batch) {
+            if (dto.getName() == null || dto.getName().isBlank()
+                    || dto.getCpf() == null || !dto.getCpf().matches("\\d{11}")
+                    || dto.getPhone() == null || !dto.getPhone().matches("\\d{10,11}")) {
+                continue;
+            }
+            LegacyCustomer customer = new LegacyCustomer(dto.getName(), dto.getPhone(), dto.getCpf());
+            if (validator.validate(customer).isEmpty()) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    @Benchmark
+    public int singlePassValidator() {
+        int accepted = 0;
+        for (CustomerDTO dto : batch) {
+            if (CustomerValidator.validate(dto) == null) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    // Anotações que CustomerModel tinha antes: o Hibernate as validava de novo em cada persist
+    public record LegacyCustomer(
+            @NotBlank String name,
+            @NotBlank @Pattern(regexp = "\\d{10,11}") String phone,
+            @NotBlank @Pattern(regexp = "\\d{11}") String cpf) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.boardcamp.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.boardcamp.exceptions.BusinessException;
+import com.boardcamp.exceptions.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Custo de uma recusa por falta de estoque, do throw até os bytes do corpo, com a pilha na profundidade de uma
+ * requisição real (filtros, DispatcherServlet, proxies). Rode com -prof gc para ver a alocação por recusa:
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="ErrorPathBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({ "20", "150" })
+    public int depth;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Caminho anterior: ResponseStatusException com pilha, Map e serialização pelo Jackson a cada recusa
+    @Benchmark
+    public byte[] responseStatusException() throws JsonProcessingException {
+        try {
+            reject(depth, false);
+            return null;
+        } catch (ResponseStatusException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getReason());
+            return objectMapper.writeValueAsBytes(new ResponseEntity<>(error, e.getStatusCode()).getBody());
+        }
+    }
+
+    @Benchmark
+    public byte[] businessException() {
+        try {
+            reject(depth, true);
+            return null;
+        } catch (BusinessException e) {
+            return e.getCode().response().getBody();
+        }
+    }
+
+    private static int reject(int depth, boolean business) {
+        if (depth > 0) {
+            return reject(depth - 1, business) + 1;
+        }
+        if (business) {
+            throw ErrorCode.NO_STOCK.exception();
+        }
+        throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Sem estoque disponível");
+    }
+}
@@ -0,0 +1,97 @@
+package com.boardcamp.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.boardcamp.BoardCampApplication;
+import com.boardcamp.services.CustomerSearchIndex;
+import com.boardcamp.services.GameCatalogSnapshot;
+import com.boardcamp.services.GameAvailabilityIndex;
+import com.boardcamp.services.GameSearchIndex;
+import com.boardcamp.services.RentalRollupService;
+
+/**
+ * Sobe o contexto Spring sobre um H2 em memória e popula as tabelas direto em SQL, sem passar pelos
+ * serviços medidos. Os últimos {@code openRentals} aluguéis ficam em aberto para o benchmark de devolução.
+ */
+final class SeededDatabase {
+    static final int STOCK_PER_GAME = 1_000_000;
+    private static final int SEQUENCE_BLOCK = 50;
+
+    private SeededDatabase() {
+    }
+
+    static ConfigurableApplicationContext start(int games, int customers, int rentals, int openRentals) {
+        return start(WebApplicationType.NONE, List.of(), games, customers, rentals, openRentals);
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType webType, List<String> extraArgs, int games,
+            int customers, int rentals, int openRentals) {
+        List<String> args = new ArrayList<>(List.of(
+                // Nome único por contexto: o banco some quando o pool fecha a última conexão
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + System.nanoTime() + ";DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--rentals.outbox.sink=file",
+                "--rentals.outbox.file=target/outbox/benchmark-rental-events.ndjson",
+                "--logging.level.root=WARN"));
+        args.addAll(extraArgs);
+        // O devtools reinicia o contexto quando sobe a partir de uma thread main
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BoardCampApplication.class)
+                .web(webType)
+                .run(args.toArray(String[]::new));
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("INSERT INTO games (id, name, image, stock_total, price_per_day, stock_available, version) "
+                + "SELECT X, 'Jogo ' || X, 'http://image.url/' || X, ?, 100 + MOD(X, 900), ?, 0 "
+                + "FROM SYSTEM_RANGE(1, ?)", STOCK_PER_GAME, STOCK_PER_GAME, games);
+        jdbc.update("INSERT INTO customers (id, name, phone, cpf) "
+                + "SELECT X, 'Cliente ' || X, '119' || LPAD(X, 8, '0'), LPAD(X, 11, '0') "
+                + "FROM SYSTEM_RANGE(1, ?)", customers);
+        jdbc.update("INSERT INTO rental (id, customer_id, game_id, rent_date, days_rented, return_date, "
+                + "original_price, delay_fee, expected_return_date) "
+                + "SELECT X, MOD(X, ?) + 1, MOD(X, ?) + 1, DATEADD('DAY', -MOD(X, 730) - 3, CURRENT_DATE), 3, "
+                + "CASEWHEN(X > ?, NULL, DATEADD('DAY', -MOD(X, 730), CURRENT_DATE)), 300, 0, "
+                + "DATEADD('DAY', -MOD(X, 730), CURRENT_DATE) "
+                + "FROM SYSTEM_RANGE(1, ?)", customers, games, rentals - openRentals, rentals);
+
+        jdbc.execute("ALTER TABLE games ALTER COLUMN id RESTART WITH " + (games + 1));
+        // Sequências pooled: o valor lido é o topo do bloco, então reiniciamos um bloco à frente
+        jdbc.execute("ALTER SEQUENCE customers_seq RESTART WITH " + (customers + 1 + SEQUENCE_BLOCK));
+        jdbc.execute("ALTER SEQUENCE rental_seq RESTART WITH " + (rentals + 1 + SEQUENCE_BLOCK));
+
+        context.getBean(RentalRollupService.class).rebuild();
+        context.getBean(GameAvailabilityIndex.class).warmUp();
+        context.getBean(CustomerSearchIndex.class).warmUp();
+        context.getBean(GameSearchIndex.class).warmUp();
+        context.getBean(GameCatalogSnapshot.class).rebuild();
+        return context;
+    }
+
+    // CPF válido derivado de n (até 9 dígitos): os clientes semeados usam LPAD(X, 11) e nunca colidem com estes
+    static String cpf(long n) {
+        String base = String.format("%09d", n);
+        int first = 0;
+        int second = 0;
+        for (int i = 0; i < 9; i++) {
+            int digit = base.charAt(i) - '0';
+            first += digit * (10 - i);
+            second += digit * (11 - i);
+        }
+        int firstCheck = first % 11 < 2 ? 0 : 11 - first % 11;
+        second += firstCheck * 2;
+        int secondCheck = second % 11 < 2 ? 0 : 11 - second % 11;
+        return base + firstCheck + secondCheck;
+    }
+}
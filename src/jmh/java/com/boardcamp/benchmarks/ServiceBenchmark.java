@@ -0,0 +1,167 @@
+package com.boardcamp.benchmarks;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.boardcamp.dtos.CustomerDTO;
+import com.boardcamp.dtos.CustomerResponseDTO;
+import com.boardcamp.dtos.GameDTO;
+import com.boardcamp.dtos.GameResponseDTO;
+import com.boardcamp.dtos.RentalDTO;
+import com.boardcamp.dtos.RevenueReportDTO;
+import com.boardcamp.dtos.UtilizationReportDTO;
+import com.boardcamp.models.CustomerModel;
+import com.boardcamp.models.GameModel;
+import com.boardcamp.models.RentalModel;
+import com.boardcamp.repositories.GameRepository;
+import com.boardcamp.services.CustomerService;
+import com.boardcamp.services.GameService;
+import com.boardcamp.services.RentalService;
+import com.boardcamp.services.ReportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Vazão e latência (modo SampleTime, com p99) dos serviços sobre um banco com volume de produção.
+ * Volumes menores para uma rodada rápida: -p games=1000 -p customers=10000 -p rentals=100000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx8g" })
+public class ServiceBenchmark {
+
+    @Param("100000")
+    public int games;
+
+    @Param("1000000")
+    public int customers;
+
+    @Param("10000000")
+    public int rentals;
+
+    @Param("1000000")
+    public int openRentals;
+
+    private ConfigurableApplicationContext context;
+    private RentalService rentalService;
+    private CustomerService customerService;
+    private GameService gameService;
+    private GameRepository gameRepository;
+    private ReportService reportService;
+    private ObjectMapper objectMapper;
+
+    private AtomicLong nextOpenRental;
+    private AtomicLong nextCustomer;
+    private AtomicLong nextGame;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SeededDatabase.start(games, customers, rentals, openRentals);
+        rentalService = context.getBean(RentalService.class);
+        customerService = context.getBean(CustomerService.class);
+        gameService = context.getBean(GameService.class);
+        gameRepository = context.getBean(GameRepository.class);
+        reportService = context.getBean(ReportService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        nextOpenRental = new AtomicLong(rentals - openRentals + 1L);
+        nextCustomer = new AtomicLong(customers + 1L);
+        nextGame = new AtomicLong(games + 1L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RentalModel createRental() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long customerId = random.nextLong(1, customers + 1L);
+        long gameId = random.nextLong(1, games + 1L);
+        return rentalService.createRental(new RentalDTO(customerId, gameId, 3));
+    }
+
+    @Benchmark
+    public RentalModel finalizeRental() {
+        // Cada devolução consome um aluguel em aberto; openRentals precisa cobrir todas as iterações
+        return rentalService.finalizeRental(nextOpenRental.getAndIncrement());
+    }
+
+    @Benchmark
+    public CustomerModel createCustomer() {
+        long id = nextCustomer.getAndIncrement();
+        return customerService.createCustomer(new CustomerDTO("Cliente " + id, "11988887777", SeededDatabase.cpf(id)));
+    }
+
+    // Type-ahead: prefixos de 3 a 5 dígitos casam com palavras do nome, telefones e CPFs semeados
+    @Benchmark
+    public List<CustomerResponseDTO> searchCustomers() {
+        String prefix = String.valueOf(ThreadLocalRandom.current().nextInt(100, 100_000));
+        return customerService.searchCustomers(prefix, CustomerService.DEFAULT_SEARCH_SIZE);
+    }
+
+    // Pior caso do catálogo semeado: "jogo" casa com todos os jogos e o número filtra por prefixo
+    @Benchmark
+    public List<GameResponseDTO> searchGames() {
+        String query = "jogo " + ThreadLocalRandom.current().nextInt(10, 1000);
+        return gameService.searchGames(query, null, 500, true, GameService.DEFAULT_SEARCH_SIZE);
+    }
+
+    // Linha de base do GET /games antes do snapshot: consulta o catálogo inteiro e serializa a cada chamada
+    @Benchmark
+    public byte[] listGamesQueried() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(gameRepository.findAllViews());
+    }
+
+    @Benchmark
+    public byte[] listGamesSnapshot() {
+        return gameService.catalogSnapshot().json().getBody();
+    }
+
+    // Inclui refazer o snapshot do catálogo depois do commit
+    @Benchmark
+    public GameModel addGame() {
+        long id = nextGame.getAndIncrement();
+        return gameService.addGame(new GameDTO("Jogo Novo " + id, "http://image.url/" + id, 5, 1500));
+    }
+
+    // O banco semeado cobre dois anos de aluguéis; os relatórios agregam um ano. O fim do período varia para o
+    // H2 não responder do cache de resultados de consultas repetidas
+    @Benchmark
+    public List<RevenueReportDTO> revenueByMonth() {
+        LocalDate to = reportEnd();
+        return reportService.revenue(to.minusYears(1), to, ReportService.GROUP_BY_MONTH);
+    }
+
+    @Benchmark
+    public List<UtilizationReportDTO> utilizationByGame() {
+        LocalDate to = reportEnd();
+        return reportService.utilization(to.minusYears(1), to, ReportService.GROUP_BY_GAME);
+    }
+
+    private static LocalDate reportEnd() {
+        return LocalDate.now().minusDays(ThreadLocalRandom.current().nextInt(365));
+    }
+}
@@ -0,0 +1,185 @@
+package com.boardcamp.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Teste de carga comparando o Tomcat em platform threads (padrão, até 200) e em virtual threads
+ * ({@code spring.threads.virtual.enabled}). Cada conexão do cliente repete GET /rentals?customerId=...,
+ * uma consulta JDBC bloqueante por requisição.
+ *
+ * <p>Opções no formato chave=valor: connections (10000), warmup e duration em segundos (10 e 30),
+ * pool (tamanho do Hikari, 50), modes (platform,virtual), games, customers, rentals e openRentals.
+ * Com 10 mil conexões cliente e servidor abrem 20 mil sockets no mesmo processo: suba o
+ * {@code ulimit -n} antes de rodar.
+ */
+public final class ThreadModelLoadTest {
+
+    private ThreadModelLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int connections = intOption(options, "connections", 10_000);
+        Duration warmup = Duration.ofSeconds(intOption(options, "warmup", 10));
+        Duration duration = Duration.ofSeconds(intOption(options, "duration", 30));
+        int pool = intOption(options, "pool", 50);
+        int games = intOption(options, "games", 1_000);
+        int customers = intOption(options, "customers", 100_000);
+        int rentals = intOption(options, "rentals", 1_000_000);
+        int openRentals = intOption(options, "openRentals", 10_000);
+
+        List<Result> results = new ArrayList<>();
+        for (String mode : options.getOrDefault("modes", "platform,virtual").split(",")) {
+            boolean virtual = switch (mode.trim()) {
+                case "platform" -> false;
+                case "virtual" -> true;
+                default -> throw new IllegalArgumentException("Modo inválido: " + mode);
+            };
+            List<String> serverArgs = List.of(
+                    "--server.port=0",
+                    "--spring.threads.virtual.enabled=" + virtual,
+                    "--server.tomcat.max-connections=" + (connections + 1_000),
+                    "--server.tomcat.accept-count=1000",
+                    "--spring.datasource.hikari.maximum-pool-size=" + pool);
+
+            try (ConfigurableApplicationContext context = SeededDatabase.start(WebApplicationType.SERVLET,
+                    serverArgs, games, customers, rentals, openRentals)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                URI base = URI.create("http://localhost:" + port);
+                drive(mode, base, connections, customers, warmup);
+                results.add(drive(mode, base, connections, customers, duration));
+            }
+        }
+
+        System.out.println();
+        System.out.printf("%-9s %11s %10s %10s %10s %10s %8s%n",
+                "modo", "conexoes", "req/s", "p50 ms", "p99 ms", "max ms", "erros");
+        for (Result result : results) {
+            System.out.printf("%-9s %11d %10.0f %10.1f %10.1f %10.1f %8d%n", result.mode(), result.connections(),
+                    result.throughput(), result.p50Millis(), result.p99Millis(), result.maxMillis(), result.errors());
+        }
+    }
+
+    private static Result drive(String mode, URI base, int connections, int customers, Duration duration)
+            throws InterruptedException {
+        Queue<Latencies> samples = new ConcurrentLinkedQueue<>();
+        LongAdder errors = new LongAdder();
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(30))
+                        .executor(clientExecutor)
+                        .build();
+                ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Uma thread virtual por conexão, cada uma em laço fechado (nova requisição só após a resposta)
+            for (int i = 0; i < connections; i++) {
+                workers.submit(() -> {
+                    Latencies latencies = new Latencies();
+                    samples.add(latencies);
+                    while (System.nanoTime() < deadline) {
+                        long customerId = ThreadLocalRandom.current().nextLong(1, customers + 1L);
+                        HttpRequest request = HttpRequest
+                                .newBuilder(base.resolve("/rentals?limit=10&customerId=" + customerId))
+                                .timeout(Duration.ofSeconds(60))
+                                .GET()
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                latencies.add(System.nanoTime() - start);
+                            } else {
+                                errors.increment();
+                            }
+                        } catch (IOException e) {
+                            errors.increment();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                });
+            }
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long[] all = Latencies.merge(samples);
+        Arrays.sort(all);
+        return new Result(mode, connections, all.length / seconds, percentile(all, 0.50), percentile(all, 0.99),
+                all.length == 0 ? 0 : all[all.length - 1] / 1e6, errors.sum());
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private record Result(String mode, int connections, double throughput, double p50Millis, double p99Millis,
+            double maxMillis, long errors) {
+    }
+
+    private static final class Latencies {
+        private long[] values = new long[256];
+        private int size;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        static long[] merge(Queue<Latencies> samples) {
+            int total = samples.stream().mapToInt(latencies -> latencies.size).sum();
+            long[] all = new long[total];
+            int offset = 0;
+            for (Latencies latencies : samples) {
+                System.arraycopy(latencies.values, 0, all, offset, latencies.size);
+                offset += latencies.size;
+            }
+            return all;
+        }
+    }
+}
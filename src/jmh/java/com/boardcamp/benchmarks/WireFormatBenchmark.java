@@ -0,0 +1,104 @@
+package com.boardcamp.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.boardcamp.models.CustomerModel;
+import com.boardcamp.models.GameModel;
+import com.boardcamp.models.RentalModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Tamanho e CPU de serialização de uma página de aluguéis com cliente e jogo, em JSON e em CBOR, com e sem gzip.
+ * Os mappers saem do mesmo builder, como os conversores da aplicação. Os tamanhos são impressos no setup.
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="WireFormatBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param("500")
+    public int rentals;
+
+    private List<RentalModel> page;
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        page = new ArrayList<>(rentals);
+        LocalDate today = LocalDate.now();
+        for (int i = 1; i <= rentals; i++) {
+            CustomerModel customer = new CustomerModel((long) i, "Cliente " + i, "119" + String.format("%08d", i),
+                    SeededDatabase.cpf(i));
+            GameModel game = new GameModel((long) (i % 100 + 1), "Jogo " + (i % 100 + 1),
+                    "http://image.url/" + (i % 100 + 1), 5, 1500);
+            RentalModel rental = new RentalModel((long) i, customer, game, today.minusDays(i % 30), 3,
+                    i % 2 == 0 ? today : null, 4500, i % 2 == 0 ? 1500 : 0);
+            rental.setExpectedReturnDate(RentalModel.expectedReturnDate(rental.getRentDate(), 3));
+            page.add(rental);
+        }
+        // Mesma configuração de datas do ObjectMapper do Boot
+        json = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cbor = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .factory(new CBORFactory()).build();
+
+        System.out.printf("%n%d aluguéis: JSON %d bytes (gzip %d), CBOR %d bytes (gzip %d)%n", rentals,
+                json().length, jsonGzip().length, cbor().length, cborGzip().length);
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return json.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return cbor.writeValueAsBytes(page);
+    }
+
+    // Serialização mais a compressão que o Tomcat faria com server.compression
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        return gzip(json);
+    }
+
+    @Benchmark
+    public byte[] cborGzip() throws IOException {
+        return gzip(cbor);
+    }
+
+    private byte[] gzip(ObjectMapper mapper) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(out, page);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -1,37 +1,76 @@
 package com.boardcamp.controllers;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.boardcamp.dtos.CustomerDTO;
+import com.boardcamp.dtos.CustomerImportReportDTO;
+import com.boardcamp.dtos.CustomerResponseDTO;
 import com.boardcamp.models.CustomerModel;
+import com.boardcamp.services.CustomerImportService;
 import com.boardcamp.services.CustomerService;
+import com.boardcamp.services.TableVersions;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/customers")
 public class CustomerController {
     private final CustomerService service;
+    private final CustomerImportService importService;
+    private final TableVersions tableVersions;
 
-    public CustomerController(CustomerService service) {
+    public CustomerController(CustomerService service, CustomerImportService importService,
+            TableVersions tableVersions) {
         this.service = service;
+        this.importService = importService;
+        this.tableVersions = tableVersions;
     }
 
     @GetMapping
-    public List<CustomerModel> listCustomers() {
+    public List<CustomerResponseDTO> listCustomers() {
         return service.listCustomers();
     }
 
+    @GetMapping("/search")
+    public List<CustomerResponseDTO> searchCustomers(@RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        return service.searchCustomers(q, limit);
+    }
+
+    // ETag da versão da tabela de clientes, do id e do formato: 304 antes de ir ao cache ou ao banco
     @GetMapping("/{id}")
-    public CustomerModel getCustomer(@PathVariable Long id) {
-        return service.getCustomer(id);
+    public ResponseEntity<CustomerResponseDTO> getCustomer(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept, WebRequest request,
+            HttpServletResponse response) {
+        Representation representation = Representation.negotiate(accept);
+        if (representation == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        // Também no 304: caches guardam JSON e CBOR separados
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (request.checkNotModified(representation.etag(tableVersions.etag(TableVersions.Table.CUSTOMERS, id)))) {
+            return null;
+        }
+        return ResponseEntity.ok().contentType(representation.mediaType).body(service.getCustomer(id));
     }
 
     @PostMapping
@@ -40,4 +79,18 @@ public class CustomerController {
         return service.createCustomer(dto);
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public CustomerImportReportDTO importCustomersCsv(InputStream body) throws IOException {
+        return importService.importCsv(reader(body));
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public CustomerImportReportDTO importCustomersNdjson(InputStream body) throws IOException {
+        return importService.importNdjson(reader(body));
+    }
+
+    private BufferedReader reader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
 }
@@ -5,15 +5,24 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.boardcamp.dtos.GameDTO;
+import com.boardcamp.dtos.GameResponseDTO;
 import com.boardcamp.models.GameModel;
+import com.boardcamp.services.GameCatalogSnapshot;
 import com.boardcamp.services.GameService;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 
 
@@ -25,11 +34,42 @@ public class GameController {
         this.service = service;
     }
 
+    // Catálogo completo servido do snapshot pré-serializado, em JSON (gzip quando o cliente aceita) ou CBOR.
+    // If-None-Match igual à ETag do snapshot volta 304
     @GetMapping
-    public List<GameModel> listGames() {
-        return service.listGames();
+    public ResponseEntity<byte[]> listGames(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request, HttpServletResponse response) {
+        Representation representation = Representation.negotiate(accept);
+        if (representation == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        GameCatalogSnapshot.Snapshot catalog = service.catalogSnapshot();
+        // Também no 304, que não passa pelos cabeçalhos do snapshot
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        if (representation == Representation.CBOR) {
+            return request.checkNotModified(catalog.cborEtag()) ? null : catalog.cbor();
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+        if (request.checkNotModified(catalog.etag(gzip))) {
+            return null;
+        }
+        return gzip ? catalog.gzip() : catalog.json();
+    }
+
+    // A lista de disponíveis muda a cada aluguel: consultada a cada chamada, sem ETag
+    @GetMapping(params = "available=true")
+    public List<GameResponseDTO> listAvailableGames() {
+        return service.listAvailableGames();
     }
 
+    @GetMapping("/search")
+    public List<GameResponseDTO> searchGames(@RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer minPrice, @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) Boolean available, @RequestParam(required = false) Integer limit) {
+        return service.searchGames(q, minPrice, maxPrice, available, limit);
+    }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -37,4 +77,17 @@ public class GameController {
         return service.addGame(dto);
     }
 
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
 }
@@ -1,8 +1,13 @@
 package com.boardcamp.controllers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,16 +15,27 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import org.springdoc.core.annotations.ParameterObject;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 
 import com.boardcamp.dtos.RentalDTO;
+import com.boardcamp.dtos.RentalFilterDTO;
+import com.boardcamp.dtos.RentalPageDTO;
+import com.boardcamp.dtos.RentalResponseDTO;
 import com.boardcamp.models.RentalModel;
 import com.boardcamp.services.RentalService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,27 +45,83 @@ import org.slf4j.LoggerFactory;
 @Tag(name = "Aluguéis", description = "Endpoints para gerenciamento de aluguéis")
 @Validated
 public class RentalController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
+
     private final RentalService service;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter exportWriter;
     private static final Logger logger = LoggerFactory.getLogger(RentalController.class);
 
-    public RentalController(RentalService service) {
+    public RentalController(RentalService service, ObjectMapper objectMapper) {
         this.service = service;
+        this.objectMapper = objectMapper;
+        this.exportWriter = objectMapper.writerFor(RentalModel.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @GetMapping
-    @Operation(summary = "Lista todos os aluguéis")
-    public ResponseEntity<List<RentalModel>> listRentals() {
-        logger.info("Listando todos os aluguéis");
-        List<RentalModel> rentals = service.listRentals();
-        return ResponseEntity.ok(rentals);
+    @Operation(summary = "Lista os aluguéis paginados por cursor, com filtros opcionais")
+    public ResponseEntity<List<RentalResponseDTO>> listRentals(@ParameterObject RentalFilterDTO filter) {
+        logger.info("Listando aluguéis a partir do cursor: {}", filter.getCursor());
+        RentalPageDTO page = service.listRentals(filter);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        return response.body(page.getRentals());
+    }
+
+    @GetMapping("/overdue")
+    @Operation(summary = "Lista os aluguéis em aberto com devolução vencida e a multa acumulada")
+    public ResponseEntity<List<RentalResponseDTO>> listOverdueRentals(@RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit, @RequestParam(required = false) String expand) {
+        logger.info("Listando aluguéis em atraso a partir do cursor: {}", cursor);
+        RentalPageDTO page = service.listOverdueRentals(cursor, limit, expand);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        return response.body(page.getRentals());
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON_VALUE)
+    @Operation(summary = "Exporta o histórico de aluguéis em NDJSON, opcionalmente a partir de uma data")
+    public ResponseEntity<StreamingResponseBody> exportRentals(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since) {
+        logger.info("Exportando aluguéis alterados desde: {}", since);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                service.exportRentals(since, rental -> {
+                    try {
+                        exportWriter.writeValue(generator, rental);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
     }
 
     @PostMapping
     @Operation(summary = "Cria um novo aluguel")
-    public ResponseEntity<RentalModel> createRental(@RequestBody @Valid RentalDTO dto) {
+    public ResponseEntity<RentalResponseDTO> createRental(@RequestBody @Valid RentalDTO dto) {
         logger.info("Criando novo aluguel para o jogo ID: {} e cliente ID: {}", dto.getGameId(), dto.getCustomerId());
         RentalModel rental = service.createRental(dto);
-        return ResponseEntity.status(HttpStatus.CREATED).body(rental);
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.expanded(rental));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Cria vários aluguéis em uma única transação")
+    public ResponseEntity<List<RentalResponseDTO>> createRentals(@RequestBody List<RentalDTO> dtos) {
+        logger.info("Criando lote de {} aluguéis", dtos.size());
+        List<RentalModel> rentals = service.createRentals(dtos);
+        return ResponseEntity.status(HttpStatus.CREATED).body(rentals.stream().map(service::expanded).toList());
     }
 
     @PostMapping("/{id}/return")
@@ -0,0 +1,76 @@
+package com.boardcamp.controllers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import com.boardcamp.dtos.DailyRollupDTO;
+import com.boardcamp.dtos.RevenueReportDTO;
+import com.boardcamp.dtos.RollupRebuildDTO;
+import com.boardcamp.dtos.UtilizationReportDTO;
+import com.boardcamp.services.RentalRollupService;
+import com.boardcamp.services.ReportService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RestController
+@RequestMapping("/reports")
+@Tag(name = "Relatórios", description = "Receita e utilização dos aluguéis por período")
+public class ReportController {
+    private final ReportService service;
+    private final RentalRollupService rollupService;
+    private static final Logger logger = LoggerFactory.getLogger(ReportController.class);
+
+    public ReportController(ReportService service, RentalRollupService rollupService) {
+        this.service = service;
+        this.rollupService = rollupService;
+    }
+
+    @GetMapping("/revenue")
+    @Operation(summary = "Receita (preço original + multa) agrupada por game, customer, day, week ou month")
+    public List<RevenueReportDTO> revenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String groupBy) {
+        logger.info("Relatório de receita de {} a {} por {}", from, to, groupBy);
+        return service.revenue(from, to, groupBy);
+    }
+
+    @GetMapping("/utilization")
+    @Operation(summary = "Dias alugados agrupados por game, customer, day, week ou month")
+    public List<UtilizationReportDTO> utilization(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String groupBy) {
+        logger.info("Relatório de utilização de {} a {} por {}", from, to, groupBy);
+        return service.utilization(from, to, groupBy);
+    }
+
+    @GetMapping("/daily")
+    @Operation(summary = "Aluguéis abertos, devolvidos, receita e multas por dia, a partir dos agregados diários")
+    public List<DailyRollupDTO> daily(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long gameId) {
+        return service.daily(from, to, gameId);
+    }
+
+    @PostMapping("/rollups/rebuild")
+    @Operation(summary = "Recalcula os agregados diários a partir da tabela de aluguéis",
+            description = "Exato só com esta instância no ar: as demais precisam ser paradas antes, o que descarrega "
+                    + "os deltas pendentes delas; senão esses deltas são somados de novo sobre a reconstrução")
+    public RollupRebuildDTO rebuildRollups() {
+        logger.info("Reconstruindo agregados diários");
+        return new RollupRebuildDTO(rollupService.rebuild());
+    }
+}
@@ -0,0 +1,66 @@
+package com.boardcamp.controllers;
+
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos dos GETs que respondem com ETag. O formato é escolhido aqui, antes da consulta, e vai no Content-Type da
+ * resposta e na ETag: JSON e CBOR do mesmo dado têm bytes diferentes, então não podem dividir uma ETag forte.
+ */
+enum Representation {
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.APPLICATION_CBOR, "-cbor");
+
+    final MediaType mediaType;
+    private final String etagSuffix;
+
+    Representation(MediaType mediaType, String etagSuffix) {
+        this.mediaType = mediaType;
+        this.etagSuffix = etagSuffix;
+    }
+
+    // "customers-x-1-7" vira "customers-x-1-7-cbor"
+    String etag(String etag) {
+        return etagSuffix.isEmpty() ? etag : etag.substring(0, etag.length() - 1) + etagSuffix + "\"";
+    }
+
+    // Maior q do Accept, JSON no empate e sem Accept; null quando nenhum dos dois é aceito (406)
+    static Representation negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        Representation best = null;
+        double bestQuality = 0;
+        for (Representation representation : values()) {
+            double quality = quality(accepted, representation.mediaType);
+            if (quality > bestQuality) {
+                best = representation;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    // q da faixa mais específica que inclui o tipo: "application/cbor;q=0, */*" recusa só o CBOR
+    private static double quality(List<MediaType> accepted, MediaType type) {
+        MediaType match = null;
+        for (MediaType range : accepted) {
+            if (range.includes(type) && (match == null || specificity(range) > specificity(match))) {
+                match = range;
+            }
+        }
+        return match == null ? 0 : match.getQualityValue();
+    }
+
+    private static int specificity(MediaType range) {
+        return range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+    }
+}
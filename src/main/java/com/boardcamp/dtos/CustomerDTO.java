@@ -1,8 +1,5 @@
 package com.boardcamp.dtos;
 
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
-import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,15 +8,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CustomerDTO {
-    @NotBlank(message = "O nome é obrigatório")
-    @Size(min = 3, message = "O nome deve ter pelo menos 3 caracteres")
     private String name;
 
-    @NotBlank(message = "O telefone é obrigatório")
-    @Pattern(regexp = "\\d{10,11}", message = "O telefone deve ter entre 10 e 11 dígitos")
     private String phone;
 
-    @NotBlank(message = "O CPF é obrigatório")
-    @Pattern(regexp = "\\d{11}", message = "O CPF deve ter 11 dígitos")
     private String cpf;
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.boardcamp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerImportErrorDTO {
+    private long line;
+    private String cpf;
+    private String error;
+}
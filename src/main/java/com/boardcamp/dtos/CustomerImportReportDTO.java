@@ -0,0 +1,30 @@
+package com.boardcamp.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerImportReportDTO {
+    // Detalhe só das primeiras rejeições: um arquivo inteiro inválido não vira uma lista do tamanho dele
+    public static final int MAX_ERRORS = 1000;
+
+    private long imported;
+    private long rejected;
+    private List<CustomerImportErrorDTO> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    public void reject(long line, String cpf, String error) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new CustomerImportErrorDTO(line, cpf, error));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+}
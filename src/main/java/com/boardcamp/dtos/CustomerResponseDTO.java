@@ -0,0 +1,10 @@
+package com.boardcamp.dtos;
+
+import com.boardcamp.models.CustomerModel;
+
+public record CustomerResponseDTO(Long id, String name, String phone, String cpf) {
+
+    public static CustomerResponseDTO from(CustomerModel customer) {
+        return new CustomerResponseDTO(customer.getId(), customer.getName(), customer.getPhone(), customer.getCpf());
+    }
+}
@@ -0,0 +1,19 @@
+package com.boardcamp.dtos;
+
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// gameId só vem preenchido quando o painel filtra por jogo; sem filtro cada dia soma todos os jogos
+public record DailyRollupDTO(
+        LocalDate day,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long gameId,
+        long rentalsOpened,
+        long rentalsReturned,
+        long revenue,
+        long delayFees) {
+
+    public DailyRollupDTO(LocalDate day, Long rentalsOpened, Long rentalsReturned, Long revenue, Long delayFees) {
+        this(day, null, rentalsOpened, rentalsReturned, revenue, delayFees);
+    }
+}
@@ -0,0 +1,11 @@
+package com.boardcamp.dtos;
+
+import com.boardcamp.models.GameModel;
+
+public record GameResponseDTO(Long id, String name, String image, Integer stockTotal, Integer pricePerDay) {
+
+    public static GameResponseDTO from(GameModel game) {
+        return new GameResponseDTO(game.getId(), game.getName(), game.getImage(), game.getStockTotal(),
+                game.getPricePerDay());
+    }
+}
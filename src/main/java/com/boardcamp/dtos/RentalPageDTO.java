@@ -0,0 +1,15 @@
+package com.boardcamp.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RentalPageDTO {
+    private List<RentalResponseDTO> rentals;
+    private Long nextCursor;
+}
@@ -0,0 +1,29 @@
+package com.boardcamp.dtos;
+
+import java.time.LocalDate;
+
+import com.boardcamp.models.RentalModel;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// customer e game só vêm preenchidos quando pedidos via expand=customer,game
+public record RentalResponseDTO(
+        Long id,
+        Long customerId,
+        Long gameId,
+        LocalDate rentDate,
+        Integer daysRented,
+        LocalDate returnDate,
+        Integer originalPrice,
+        Integer delayFee,
+        LocalDate expectedReturnDate,
+        Integer accruedFee,
+        @JsonInclude(JsonInclude.Include.NON_NULL) CustomerResponseDTO customer,
+        @JsonInclude(JsonInclude.Include.NON_NULL) GameResponseDTO game) {
+
+    // Lê só os ids das associações, sem inicializar proxies LAZY
+    public static RentalResponseDTO from(RentalModel rental, CustomerResponseDTO customer, GameResponseDTO game) {
+        return new RentalResponseDTO(rental.getId(), rental.getCustomer().getId(), rental.getGame().getId(),
+                rental.getRentDate(), rental.getDaysRented(), rental.getReturnDate(), rental.getOriginalPrice(),
+                rental.getDelayFee(), rental.getExpectedReturnDate(), rental.getAccruedFee(), customer, game);
+    }
+}
@@ -0,0 +1,13 @@
+package com.boardcamp.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// key é o id do jogo/cliente ou o período (2024-03-15, 2024-W11, 2024-03); name só vem nos agrupamentos por entidade
+public record RevenueReportDTO(
+        String key,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String name,
+        long rentals,
+        long originalPrice,
+        long delayFee,
+        long revenue) {
+}
@@ -0,0 +1,4 @@
+package com.boardcamp.dtos;
+
+public record RollupRebuildDTO(int rows) {
+}
@@ -0,0 +1,12 @@
+package com.boardcamp.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// occupancy (dias alugados / dias de estoque no período) só é calculada no agrupamento por jogo
+public record UtilizationReportDTO(
+        String key,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String name,
+        long rentals,
+        long rentalDays,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Double occupancy) {
+}
@@ -0,0 +1,60 @@
+package com.boardcamp.events;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.boardcamp.models.RentalOutboxModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Destino local para testes e benchmarks: um evento JSON por linha, gravado em disco antes de o relay apagar o lote.
+// Nada lê o arquivo, então nunca é o padrão
+@Component
+@ConditionalOnProperty(name = "rentals.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements RentalOutboxSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock writes = new ReentrantLock();
+
+    public FileOutboxSink(@Value("${rentals.outbox.file}") Path file, ObjectMapper objectMapper) {
+        this.file = file.toAbsolutePath();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void send(List<RentalOutboxModel> events) {
+        writes.lock();
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileOutputStream out = new FileOutputStream(file.toFile(), true);
+                    BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                for (RentalOutboxModel event : events) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.newLine();
+                }
+                writer.flush();
+                out.getFD().sync();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writes.unlock();
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,34 @@
+package com.boardcamp.events;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import com.boardcamp.models.RentalModel;
+
+// Cópia imutável do aluguel no momento do evento: os consumidores rodam fora da transação e não tocam a entidade
+public record RentalEvent(
+        Type type,
+        long rentalId,
+        long customerId,
+        long gameId,
+        LocalDate rentDate,
+        int daysRented,
+        LocalDate returnDate,
+        int originalPrice,
+        int delayFee,
+        Instant occurredAt) {
+
+    public enum Type {
+        OPENED, RETURNED, DELETED
+    }
+
+    public static RentalEvent of(Type type, RentalModel rental) {
+        return new RentalEvent(type, rental.getId(), rental.getCustomer().getId(), rental.getGame().getId(),
+                rental.getRentDate(), valueOf(rental.getDaysRented()), rental.getReturnDate(),
+                valueOf(rental.getOriginalPrice()), valueOf(rental.getDelayFee()), Instant.now());
+    }
+
+    private static int valueOf(Integer value) {
+        return value == null ? 0 : value;
+    }
+}
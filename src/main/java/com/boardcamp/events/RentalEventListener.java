@@ -0,0 +1,16 @@
+package com.boardcamp.events;
+
+import java.util.List;
+
+/**
+ * Efeito colateral de aluguéis (pontos de fidelidade, analytics, notificações). Todo bean que implementa esta
+ * interface ganha fila e thread próprias no {@link RentalEventPipeline}: um consumidor lento não atrasa os outros
+ * nem a devolução.
+ */
+public interface RentalEventListener {
+
+    // Sempre chamado pela mesma thread, com os eventos na ordem do outbox. Uma exceção descarta só este lote.
+    // Entrega é pelo menos uma vez: se a transação do relay falhar depois de enfileirar, o lote volta na rodada
+    // seguinte; rentalId e type identificam o evento
+    void onEvents(List<RentalEvent> events);
+}
@@ -0,0 +1,192 @@
+package com.boardcamp.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Entrega os eventos de aluguel aos {@link RentalEventListener}. Quem alimenta é o RentalOutboxRelay, com lotes lidos
+ * do rental_outbox; a requisição só grava a linha do outbox, então o tempo de resposta não depende de quantos
+ * consumidores existem. Cada consumidor tem uma fila limitada e uma thread que a esvazia em lotes.
+ * Fila cheia é contrapressão sem espera e sem descarte: o lote é recusado inteiro e as linhas ficam no outbox até
+ * todos os consumidores terem espaço. No desligamento roda depois do servidor web parar de aceitar requisições e
+ * esvazia todas as filas antes do contexto fechar; depois de parado recusa tudo. Eventos já aceitos se perdem só se
+ * o processo morrer sem desligamento.
+ */
+@Component
+public class RentalEventPipeline implements SmartLifecycle {
+    public static final String METRIC_PREFIX = "boardcamp.rental.events";
+
+    private static final Logger logger = LoggerFactory.getLogger(RentalEventPipeline.class);
+    // Abaixo do servidor web (DEFAULT_PHASE - 2048): sobe antes e para depois dele
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final List<Worker> workers;
+    private final int queueCapacity;
+    private final long drainTimeoutMs;
+    private final int batchSize;
+    // Conferir espaço e enfileirar em todas as filas é atômico, e nenhum evento entra depois que o consumidor saiu
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean running;
+
+    public RentalEventPipeline(ObjectProvider<RentalEventListener> listeners, MeterRegistry registry,
+            @Value("${rentals.events.queue-capacity}") int queueCapacity,
+            @Value("${rentals.events.batch-size}") int batchSize,
+            @Value("${rentals.events.drain-timeout-ms}") long drainTimeoutMs) {
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.drainTimeoutMs = drainTimeoutMs;
+        this.workers = listeners.orderedStream()
+                .map(listener -> new Worker(listener, queueCapacity, registry))
+                .toList();
+    }
+
+    // Só consulta: o relay pergunta antes de enviar o lote ao sink, para não reenviá-lo a cada rodada enquanto um
+    // consumidor estiver atrasado
+    public boolean hasRoomFor(int count) {
+        return running && workers.stream().allMatch(worker -> worker.queue.remainingCapacity() >= count);
+    }
+
+    // Tudo ou nada e sem esperar: enfileira o lote em todos os consumidores ou em nenhum
+    public boolean offer(List<RentalEvent> events) {
+        lock.lock();
+        try {
+            if (!hasRoomFor(events.size())) {
+                return false;
+            }
+            for (Worker worker : workers) {
+                worker.queue.addAll(events);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int capacity() {
+        return queueCapacity;
+    }
+
+    public int pendingCount() {
+        return workers.stream().mapToInt(worker -> worker.queue.size()).sum();
+    }
+
+    @Override
+    public void start() {
+        lock.lock();
+        try {
+            // Antes das threads: o laço do consumidor termina quando running é falso e a fila está vazia
+            running = true;
+            workers.forEach(Worker::start);
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Pipeline de eventos de aluguel iniciado com {} consumidores", workers.size());
+    }
+
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            running = false;
+        } finally {
+            lock.unlock();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(drainTimeoutMs);
+        for (Worker worker : workers) {
+            worker.awaitDrained(deadline);
+        }
+        logger.info("Pipeline de eventos de aluguel parado");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private final class Worker implements Runnable {
+        final RentalEventListener listener;
+        final String name;
+        final BlockingQueue<RentalEvent> queue;
+        final Counter failed;
+        final Timer batches;
+        Thread thread;
+
+        Worker(RentalEventListener listener, int capacity, MeterRegistry registry) {
+            this.listener = listener;
+            this.name = listener.getClass().getSimpleName();
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.failed = registry.counter(METRIC_PREFIX + ".failed", "listener", name);
+            this.batches = registry.timer(METRIC_PREFIX + ".batch", "listener", name);
+            registry.gauge(METRIC_PREFIX + ".queued", Tags.of("listener", name), queue, BlockingQueue::size);
+        }
+
+        void start() {
+            thread = Thread.ofPlatform().name("rental-events-" + name).daemon(true).start(this);
+        }
+
+        @Override
+        public void run() {
+            List<RentalEvent> batch = new ArrayList<>(batchSize);
+            // Depois do stop continua até a fila esvaziar
+            while (running || !queue.isEmpty()) {
+                try {
+                    RentalEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    deliver(List.copyOf(batch));
+                    batch.clear();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        void deliver(List<RentalEvent> events) {
+            try {
+                batches.record(() -> listener.onEvents(events));
+            } catch (RuntimeException e) {
+                failed.increment(events.size());
+                logger.error("Consumidor {} falhou com um lote de {} eventos", name, events.size(), e);
+            }
+        }
+
+        void awaitDrained(long deadline) {
+            try {
+                long remaining = deadline - System.nanoTime();
+                if (thread != null && remaining > 0) {
+                    thread.join(TimeUnit.NANOSECONDS.toMillis(remaining) + 1);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!queue.isEmpty()) {
+                logger.warn("Consumidor {} não esvaziou a fila a tempo: {} eventos perdidos", name, queue.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.boardcamp.events;
+
+import java.util.List;
+
+import com.boardcamp.models.RentalOutboxModel;
+
+/**
+ * Destino dos eventos do outbox (fila, broker, webhook). O RentalOutboxRelay chama com as linhas ainda travadas e só
+ * as apaga se o envio retornar sem exceção: uma falha, ou a queda do processo no meio do envio, reenvia o lote
+ * inteiro. Quem recebe descarta repetições pelo id.
+ */
+public interface RentalOutboxSink {
+
+    void send(List<RentalOutboxModel> events);
+}
@@ -0,0 +1,18 @@
+package com.boardcamp.exceptions;
+
+/**
+ * Recusa de negócio sem stack trace. Não é instanciada fora de {@link ErrorCode}: use
+ * {@code throw ErrorCode.NO_STOCK.exception()}.
+ */
+public final class BusinessException extends RuntimeException {
+    private final transient ErrorCode code;
+
+    BusinessException(ErrorCode code) {
+        super(code.getMessage(), null, false, false);
+        this.code = code;
+    }
+
+    public ErrorCode getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,81 @@
+package com.boardcamp.exceptions;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+/**
+ * Recusas de negócio. Cada código já nasce com a exceção e a resposta prontas ({"error":"...","code":"..."}),
+ * então recusar uma requisição não aloca nem captura pilha.
+ */
+public enum ErrorCode {
+    INVALID_DATA(HttpStatus.BAD_REQUEST, "Dados inválidos"),
+    INVALID_BATCH(HttpStatus.BAD_REQUEST, "Lote inválido"),
+    INVALID_LIMIT(HttpStatus.BAD_REQUEST, "Limite inválido"),
+    INVALID_EXPAND(HttpStatus.BAD_REQUEST, "Expansão inválida"),
+    INVALID_STATUS(HttpStatus.BAD_REQUEST, "Status inválido"),
+    INVALID_PERIOD(HttpStatus.BAD_REQUEST, "Período inválido"),
+    INVALID_GROUPING(HttpStatus.BAD_REQUEST, "Agrupamento inválido"),
+    INVALID_QUERY(HttpStatus.BAD_REQUEST, "Busca inválida"),
+    NAME_REQUIRED(HttpStatus.BAD_REQUEST, "Nome é obrigatório"),
+    INVALID_CPF(HttpStatus.BAD_REQUEST, "CPF inválido"),
+    INVALID_PHONE(HttpStatus.BAD_REQUEST, "Telefone inválido"),
+    IMAGE_REQUIRED(HttpStatus.BAD_REQUEST, "URL da imagem é obrigatória"),
+    INVALID_IMAGE(HttpStatus.BAD_REQUEST, "URL da imagem inválida"),
+    INVALID_STOCK(HttpStatus.BAD_REQUEST, "Estoque inválido"),
+    INVALID_PRICE(HttpStatus.BAD_REQUEST, "Preço inválido"),
+    RENTAL_NOT_RETURNED(HttpStatus.BAD_REQUEST, "Aluguel não finalizado"),
+    CUSTOMER_NOT_FOUND(HttpStatus.NOT_FOUND, "Cliente não encontrado"),
+    GAME_NOT_FOUND(HttpStatus.NOT_FOUND, "Jogo não encontrado"),
+    RENTAL_NOT_FOUND(HttpStatus.NOT_FOUND, "Aluguel não encontrado"),
+    CPF_TAKEN(HttpStatus.CONFLICT, "CPF já cadastrado"),
+    GAME_EXISTS(HttpStatus.CONFLICT, "Jogo já existe"),
+    NO_STOCK(HttpStatus.UNPROCESSABLE_ENTITY, "Sem estoque disponível"),
+    RENTAL_ALREADY_RETURNED(HttpStatus.UNPROCESSABLE_ENTITY, "Aluguel já finalizado");
+
+    private final HttpStatus status;
+    private final String message;
+    private final BusinessException exception;
+    private final ResponseEntity<byte[]> response;
+
+    ErrorCode(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+        this.exception = new BusinessException(this);
+        this.response = response(status, message, name());
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    // Sempre a mesma instância: sem pilha, sem causa e sem suppressed, é imutável e segura entre threads
+    public BusinessException exception() {
+        return exception;
+    }
+
+    public ResponseEntity<byte[]> response() {
+        return response;
+    }
+
+    private static ResponseEntity<byte[]> response(HttpStatus status, String message, String code) {
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        String body = "{\"error\":\"" + new String(encoder.quoteAsString(message)) + "\",\"code\":\""
+                + new String(encoder.quoteAsString(code)) + "\"}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(bytes.length);
+        return new ResponseEntity<>(bytes, HttpHeaders.readOnlyHttpHeaders(headers), status);
+    }
+}
@@ -0,0 +1,43 @@
+package com.boardcamp.metrics;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Um timer de serialização por tipo de resposta, registrado na primeira escrita e reaproveitado nas seguintes
+final class SerializationTimers {
+    private static final Pattern PACKAGE = Pattern.compile("[\\w$]+\\.");
+
+    private final MeterRegistry registry;
+    private final String format;
+    private final Map<Type, Timer> timers = new ConcurrentHashMap<>();
+
+    SerializationTimers(MeterRegistry registry, String format) {
+        this.registry = registry;
+        this.format = format;
+    }
+
+    Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    void stop(Timer.Sample sample, Object object, Type type) {
+        sample.stop(timers.computeIfAbsent(type != null ? type : object.getClass(), this::register));
+    }
+
+    private Timer register(Type type) {
+        return Timer.builder(TimedJacksonHttpMessageConverter.METRIC_NAME)
+                .tag("type", typeName(type))
+                .tag("format", format)
+                .register(registry);
+    }
+
+    // java.util.List<com.boardcamp.dtos.GameResponseDTO> vira List<GameResponseDTO>
+    private static String typeName(Type type) {
+        return PACKAGE.matcher(type.getTypeName()).replaceAll("");
+    }
+}
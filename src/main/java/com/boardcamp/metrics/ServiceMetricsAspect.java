@@ -0,0 +1,103 @@
+package com.boardcamp.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.boardcamp.exceptions.BusinessException;
+import com.boardcamp.exceptions.ErrorCode;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timer {@code boardcamp.service} em todo método público de RentalService, CustomerService e GameService, com tags
+ * class, method e outcome. O contador de cada outcome é o _count do timer no Prometheus. Roda por fora do
+ * {@code @Transactional}, então o tempo inclui o commit e falhas de commit também viram outcome. Métodos marcados com
+ * {@link Untimed} ficam de fora. Os timers são registrados na primeira chamada de cada método e outcome.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+    public static final String METRIC_NAME = "boardcamp.service";
+
+    private final MeterRegistry registry;
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("(execution(public * com.boardcamp.services.RentalService.*(..)) "
+            + "|| execution(public * com.boardcamp.services.CustomerService.*(..)) "
+            + "|| execution(public * com.boardcamp.services.GameService.*(..))) "
+            + "&& !@annotation(com.boardcamp.metrics.Untimed)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodTimers methodTimers = timers.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                MethodTimers::new);
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = methodTimers.defaultOutcome;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable error) {
+            outcome = outcome(error);
+            throw error;
+        } finally {
+            sample.stop(methodTimers.timer(outcome));
+        }
+    }
+
+    static String outcome(Throwable error) {
+        if (error instanceof BusinessException businessError) {
+            ErrorCode code = businessError.getCode();
+            if (code == ErrorCode.NO_STOCK) {
+                return "no-stock";
+            }
+            if (code.getStatus() == HttpStatus.NOT_FOUND) {
+                return "not-found";
+            }
+            if (code.getStatus() == HttpStatus.CONFLICT) {
+                return "conflict";
+            }
+            return code.getStatus().is4xxClientError() ? "rejected" : "error";
+        }
+        if (error instanceof DataIntegrityViolationException || error instanceof OptimisticLockingFailureException) {
+            return "conflict";
+        }
+        return "error";
+    }
+
+    private final class MethodTimers {
+        private final String className;
+        private final String method;
+        private final String defaultOutcome;
+        private final Map<String, Timer> byOutcome = new ConcurrentHashMap<>();
+
+        MethodTimers(Method method) {
+            this.className = method.getDeclaringClass().getSimpleName();
+            this.method = method.getName();
+            this.defaultOutcome = this.method.startsWith("create") || this.method.startsWith("add") ? "created"
+                    : "success";
+        }
+
+        Timer timer(String outcome) {
+            return byOutcome.computeIfAbsent(outcome, key -> Timer.builder(METRIC_NAME)
+                    .tag("class", className)
+                    .tag("method", method)
+                    .tag("outcome", key)
+                    .register(registry));
+        }
+    }
+}
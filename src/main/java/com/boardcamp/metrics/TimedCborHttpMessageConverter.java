@@ -0,0 +1,42 @@
+package com.boardcamp.metrics;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Resposta em CBOR (application/cbor) para quem pede no Accept, em geral chamadas entre serviços. O mapper sai do
+ * mesmo builder do Boot que o JSON, então datas, nomes e campos nulos seguem as mesmas regras; só a codificação muda.
+ * Substitui o conversor CBOR padrão do Spring MVC e mede em {@code boardcamp.http.serialization} com format=cbor.
+ */
+@Component
+public class TimedCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    private final SerializationTimers timers;
+
+    public TimedCborHttpMessageConverter(Jackson2ObjectMapperBuilder builder, MeterRegistry registry) {
+        super(builder.factory(new CBORFactory()).build());
+        this.timers = new SerializationTimers(registry, "cbor");
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = timers.start();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            timers.stop(sample, object, type);
+        }
+    }
+}
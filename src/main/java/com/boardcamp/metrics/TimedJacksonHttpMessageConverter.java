@@ -0,0 +1,42 @@
+package com.boardcamp.metrics;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Substitui o conversor JSON padrão do Boot para medir a renderização das respostas em
+ * {@code boardcamp.http.serialization}, separada do tempo de banco ({@code spring.data.repository.invocations}).
+ * Inclui a escrita no buffer da resposta; corpos maiores que o buffer do Tomcat também medem o envio pela rede.
+ */
+@Component
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    public static final String METRIC_NAME = "boardcamp.http.serialization";
+
+    private final SerializationTimers timers;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry registry) {
+        super(objectMapper);
+        this.timers = new SerializationTimers(registry, "json");
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = timers.start();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            timers.stop(sample, object, type);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.boardcamp.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Tira um método público de serviço do timer {@code boardcamp.service}: acessores triviais e ajudantes chamados por
+ * linha ou por elemento, em que o custo do aspecto passaria do custo do próprio método.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Untimed {
+}
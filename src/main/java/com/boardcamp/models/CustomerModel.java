@@ -1,13 +1,14 @@
 package com.boardcamp.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.GenerationType;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,21 +18,20 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+// Campos internos do proxy LAZY do Hibernate
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class CustomerModel {
+    // Sequência com alocação em blocos para a importação conseguir gravar em lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_seq")
+    @SequenceGenerator(name = "customers_seq", sequenceName = "customers_seq", allocationSize = 50)
     private Long id;
 
-    @NotBlank
     private String name;
 
-    @NotBlank
-    @Pattern(regexp = "\\d{10,11}")
     private String phone;
 
-    @NotBlank
     @Column(unique = true)
-    @Pattern(regexp = "\\d{11}")
     private String cpf;
     
 }
@@ -1,12 +1,14 @@
 package com.boardcamp.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Table;
-import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.NotBlank;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,19 +18,30 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+// Campos internos do proxy LAZY do Hibernate
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class GameModel {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @NotBlank
     private String name;
 
     private String image;
 
-    @Min(1)
     private Integer stockTotal;
     
-    @Min(1)
     private Integer pricePerDay;
+
+    // Cópias livres; alterado apenas pelos UPDATEs condicionais do GameRepository
+    @JsonIgnore
+    private Integer stockAvailable;
+
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    public GameModel(Long id, String name, String image, Integer stockTotal, Integer pricePerDay) {
+        this(id, name, image, stockTotal, pricePerDay, stockTotal, null);
+    }
 }
@@ -0,0 +1,45 @@
+package com.boardcamp.models;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Uma linha por jogo por dia; preço original conta no dia do aluguel, multa e devolução no dia da devolução
+@Entity
+@Table(name = "rental_daily_rollup")
+@IdClass(RentalDailyRollupModel.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RentalDailyRollupModel {
+    @Id
+    private Long gameId;
+
+    @Id
+    @Column(name = "rollup_day")
+    private LocalDate day;
+
+    private int rentalsOpened;
+
+    private int rentalsReturned;
+
+    private long revenue;
+
+    private long delayFees;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long gameId;
+        private LocalDate day;
+    }
+}
@@ -2,12 +2,17 @@ package com.boardcamp.models;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,20 +20,25 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "rental")
+// Só as colunas alteradas entram no UPDATE: a varredura de atrasos não sobrescreve uma devolução concorrente
+@DynamicUpdate
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class RentalModel {
 
+    // Sequência com alocação em blocos para o Hibernate conseguir agrupar os INSERTs em lote
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rental_seq")
+    @SequenceGenerator(name = "rental_seq", sequenceName = "rental_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    // LAZY: quem precisa de cliente e jogo busca com fetch join ou entity graph no RentalRepository
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
     private CustomerModel customer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "game_id")
     private GameModel game;
 
@@ -41,5 +51,26 @@ public class RentalModel {
     private Integer originalPrice;
 
     private Integer delayFee;
-    
+
+    private LocalDate expectedReturnDate;
+
+    // Multa acumulada até feeAccruedOn enquanto o aluguel está em aberto, mantida pelo OverdueRentalScanner
+    private Integer accruedFee;
+
+    private LocalDate feeAccruedOn;
+
+    public RentalModel(Long id, CustomerModel customer, GameModel game, LocalDate rentDate, Integer daysRented,
+            LocalDate returnDate, Integer originalPrice, Integer delayFee) {
+        this(id, customer, game, rentDate, daysRented, returnDate, originalPrice, delayFee,
+                expectedReturnDate(rentDate, daysRented), null, null);
+    }
+
+    @PrePersist
+    void updateExpectedReturnDate() {
+        expectedReturnDate = expectedReturnDate(rentDate, daysRented);
+    }
+
+    public static LocalDate expectedReturnDate(LocalDate rentDate, Integer daysRented) {
+        return rentDate == null || daysRented == null ? null : rentDate.plusDays(daysRented);
+    }
 }
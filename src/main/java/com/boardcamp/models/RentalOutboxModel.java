@@ -0,0 +1,67 @@
+package com.boardcamp.models;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import com.boardcamp.events.RentalEvent;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Colunas em vez de JSON: gravar a linha não serializa nada dentro da transação do aluguel
+@Entity
+@Table(name = "rental_outbox")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RentalOutboxModel {
+
+    // O id também identifica o evento para quem recebe: entrega é pelo menos uma vez, repetições têm o mesmo id
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rental_outbox_seq")
+    @SequenceGenerator(name = "rental_outbox_seq", sequenceName = "rental_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type")
+    private RentalEvent.Type type;
+
+    private long rentalId;
+
+    private long customerId;
+
+    private long gameId;
+
+    private LocalDate rentDate;
+
+    private int daysRented;
+
+    private LocalDate returnDate;
+
+    private int originalPrice;
+
+    private int delayFee;
+
+    private Instant occurredAt;
+
+    public static RentalOutboxModel from(RentalEvent event) {
+        return new RentalOutboxModel(null, event.type(), event.rentalId(), event.customerId(), event.gameId(),
+                event.rentDate(), event.daysRented(), event.returnDate(), event.originalPrice(), event.delayFee(),
+                event.occurredAt());
+    }
+
+    public RentalEvent toEvent() {
+        return new RentalEvent(type, rentalId, customerId, gameId, rentDate, daysRented, returnDate, originalPrice,
+                delayFee, occurredAt);
+    }
+}
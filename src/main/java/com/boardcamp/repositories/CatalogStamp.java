@@ -0,0 +1,9 @@
+package com.boardcamp.repositories;
+
+// Quantidade e maior id de uma tabela: muda quando outra instância (ou o banco direto) insere ou apaga linhas
+public record CatalogStamp(long rows, long lastId) {
+
+    public CatalogStamp(Long rows, Long lastId) {
+        this(rows == null ? 0 : rows, lastId == null ? 0 : lastId);
+    }
+}
@@ -1,14 +1,70 @@
 package com.boardcamp.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.boardcamp.dtos.CustomerResponseDTO;
 import com.boardcamp.models.CustomerModel;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CustomerRepository extends JpaRepository<CustomerModel, Long> {
+    String CACHE_NAME = "customers";
+    int SCAN_FETCH_SIZE = 1000;
+
     boolean existsByCpf(String cpf);
 
     CustomerModel findByCpf(String cpf);
 
+    @Query("SELECT c.cpf FROM CustomerModel c WHERE c.cpf IN :cpfs")
+    Set<String> findExistingCpfs(@Param("cpfs") Collection<String> cpfs);
+
+    @Query("SELECT new com.boardcamp.dtos.CustomerResponseDTO(c.id, c.name, c.phone, c.cpf) "
+            + "FROM CustomerModel c ORDER BY c.id")
+    List<CustomerResponseDTO> findAllViews();
+
+    @Query("SELECT new com.boardcamp.repositories.CatalogStamp(COUNT(c.id), MAX(c.id)) FROM CustomerModel c")
+    CatalogStamp findCatalogStamp();
+
+    // Carga do índice de busca; exige transação para o fetch size valer no PostgreSQL
+    @Query("SELECT new com.boardcamp.dtos.CustomerResponseDTO(c.id, c.name, c.phone, c.cpf) FROM CustomerModel c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + SCAN_FETCH_SIZE))
+    Stream<CustomerResponseDTO> streamAllViews();
+
+    // O cache guarda a view imutável, nunca a entidade: instâncias gerenciadas não são compartilhadas entre sessões
+    @Cacheable(cacheNames = CACHE_NAME, unless = "#result == null")
+    @Query("SELECT new com.boardcamp.dtos.CustomerResponseDTO(c.id, c.name, c.phone, c.cpf) "
+            + "FROM CustomerModel c WHERE c.id = :id")
+    Optional<CustomerResponseDTO> findViewById(@Param("id") Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#result.id")
+    <S extends CustomerModel> S save(S customer);
+
+    @Override
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#p0")
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#p0.id")
+    void delete(CustomerModel customer);
+
+    @Override
+    @CacheEvict(cacheNames = CACHE_NAME, allEntries = true)
+    void deleteAll();
+
 }
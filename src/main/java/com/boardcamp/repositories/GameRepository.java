@@ -1,14 +1,81 @@
 package com.boardcamp.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.boardcamp.dtos.GameResponseDTO;
 import com.boardcamp.models.GameModel;
 
 
 @Repository
 public interface GameRepository extends JpaRepository<GameModel, Long>{
+    String CACHE_NAME = "games";
 
     boolean existsByName(String name);
+
+    @Query("SELECT new com.boardcamp.dtos.GameResponseDTO(g.id, g.name, g.image, g.stockTotal, g.pricePerDay) "
+            + "FROM GameModel g ORDER BY g.id")
+    List<GameResponseDTO> findAllViews();
+
+    @Query("SELECT new com.boardcamp.repositories.CatalogStamp(COUNT(g.id), MAX(g.id)) FROM GameModel g")
+    CatalogStamp findCatalogStamp();
+
+    @Query("SELECT new com.boardcamp.dtos.GameResponseDTO(g.id, g.name, g.image, g.stockTotal, g.pricePerDay) "
+            + "FROM GameModel g WHERE g.id IN :ids ORDER BY g.id")
+    List<GameResponseDTO> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Só campos que o cadastro define: o contador de estoque e a version mudam a cada reserva e ficam fora do cache
+    @Cacheable(cacheNames = CACHE_NAME, unless = "#result == null")
+    @Query("SELECT new com.boardcamp.dtos.GameResponseDTO(g.id, g.name, g.image, g.stockTotal, g.pricePerDay) "
+            + "FROM GameModel g WHERE g.id = :id")
+    Optional<GameResponseDTO> findViewById(@Param("id") Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#result.id")
+    <S extends GameModel> S save(S game);
+
+    @Override
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#p0")
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = CACHE_NAME, key = "#p0.id")
+    void delete(GameModel game);
+
+    @Override
+    @CacheEvict(cacheNames = CACHE_NAME, allEntries = true)
+    void deleteAll();
+
+    @Query("SELECT g.stockAvailable FROM GameModel g WHERE g.id = :id")
+    Integer findStockAvailableById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE GameModel g SET g.stockAvailable = g.stockAvailable - :quantity, g.version = g.version + 1 "
+            + "WHERE g.id = :id AND g.stockAvailable >= :quantity")
+    int reserveStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE GameModel g SET g.stockAvailable = g.stockAvailable + :quantity, g.version = g.version + 1 "
+            + "WHERE g.id = :id AND g.stockAvailable + :quantity <= g.stockTotal")
+    int releaseStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE GameModel g SET g.stockAvailable = g.stockTotal - "
+            + "(SELECT COUNT(r) FROM RentalModel r WHERE r.game = g AND r.returnDate IS NULL), "
+            + "g.version = COALESCE(g.version, 0) WHERE g.stockAvailable IS NULL")
+    int initializeMissingStockCounters();
+
+    @Query("SELECT g.id AS gameId, g.stockTotal AS stockTotal, COUNT(r.id) AS openRentals FROM GameModel g "
+            + "LEFT JOIN RentalModel r ON r.game = g AND r.returnDate IS NULL GROUP BY g.id, g.stockTotal")
+    List<GameStockView> findStockSummary();
     
 }
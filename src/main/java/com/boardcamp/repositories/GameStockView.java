@@ -0,0 +1,9 @@
+package com.boardcamp.repositories;
+
+public interface GameStockView {
+    Long getGameId();
+
+    Integer getStockTotal();
+
+    Long getOpenRentals();
+}
@@ -0,0 +1,52 @@
+package com.boardcamp.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.boardcamp.dtos.DailyRollupDTO;
+import com.boardcamp.models.RentalDailyRollupModel;
+
+public interface RentalDailyRollupRepository
+        extends JpaRepository<RentalDailyRollupModel, RentalDailyRollupModel.Key> {
+
+    // Soma atômica no banco: duas instâncias podem descarregar deltas da mesma linha ao mesmo tempo
+    @Modifying
+    @Query("UPDATE RentalDailyRollupModel r SET r.rentalsOpened = r.rentalsOpened + :opened, "
+            + "r.rentalsReturned = r.rentalsReturned + :returned, r.revenue = r.revenue + :revenue, "
+            + "r.delayFees = r.delayFees + :delayFees WHERE r.gameId = :gameId AND r.day = :day")
+    int increment(@Param("gameId") Long gameId, @Param("day") LocalDate day, @Param("opened") int opened,
+            @Param("returned") int returned, @Param("revenue") long revenue, @Param("delayFees") long delayFees);
+
+    @Query("SELECT new com.boardcamp.dtos.DailyRollupDTO(r.day, r.gameId, CAST(r.rentalsOpened AS Long), "
+            + "CAST(r.rentalsReturned AS Long), r.revenue, r.delayFees) FROM RentalDailyRollupModel r "
+            + "WHERE r.gameId = :gameId AND r.day BETWEEN :from AND :to ORDER BY r.day")
+    List<DailyRollupDTO> findByGame(@Param("gameId") Long gameId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    @Query("SELECT new com.boardcamp.dtos.DailyRollupDTO(r.day, SUM(r.rentalsOpened), SUM(r.rentalsReturned), "
+            + "SUM(r.revenue), SUM(r.delayFees)) FROM RentalDailyRollupModel r "
+            + "WHERE r.day BETWEEN :from AND :to GROUP BY r.day ORDER BY r.day")
+    List<DailyRollupDTO> sumByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM RentalDailyRollupModel")
+    int deleteAllRows();
+
+    // Mesma carga da migração V3__rental_daily_rollup
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO rental_daily_rollup "
+            + "(game_id, rollup_day, rentals_opened, rentals_returned, revenue, delay_fees) "
+            + "SELECT game_id, event_day, SUM(opened), SUM(returned), SUM(revenue), SUM(delay_fee) FROM ("
+            + "SELECT game_id, rent_date AS event_day, 1 AS opened, 0 AS returned, "
+            + "COALESCE(original_price, 0) AS revenue, 0 AS delay_fee FROM rental "
+            + "UNION ALL "
+            + "SELECT game_id, return_date, 0, 1, 0, COALESCE(delay_fee, 0) FROM rental "
+            + "WHERE return_date IS NOT NULL) events "
+            + "WHERE game_id IS NOT NULL AND event_day IS NOT NULL GROUP BY game_id, event_day")
+    int insertFromRentals();
+}
@@ -0,0 +1,20 @@
+package com.boardcamp.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.boardcamp.models.RentalOutboxModel;
+
+public interface RentalOutboxRepository extends JpaRepository<RentalOutboxModel, Long> {
+
+    // Trava o lote até o fim da transação; linhas travadas por outra instância do relay são puladas, não esperadas
+    @Query(nativeQuery = true, value = "SELECT * FROM rental_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED")
+    List<RentalOutboxModel> claimBatch(@Param("limit") int limit);
+
+    @Query("SELECT MIN(o.occurredAt) FROM RentalOutboxModel o")
+    Instant findOldestOccurredAt();
+}
@@ -1,11 +1,88 @@
 package com.boardcamp.repositories;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 import com.boardcamp.models.RentalModel;
 import com.boardcamp.models.GameModel;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.query.QueryByExampleExecutor;
 
-public interface RentalRepository extends JpaRepository<RentalModel, Long>, QueryByExampleExecutor<RentalModel> {
+import jakarta.persistence.QueryHint;
+
+public interface RentalRepository extends JpaRepository<RentalModel, Long>, QueryByExampleExecutor<RentalModel>,
+        JpaSpecificationExecutor<RentalModel>, RentalViewRepository {
+    int EXPORT_FETCH_SIZE = 1000;
+
     long countByGameAndReturnDateIsNull(GameModel game);
+
+    // customer e game são LAZY: os caminhos que devolvem a entidade completa carregam tudo em um único SELECT
+    @Override
+    @EntityGraph(attributePaths = { "customer", "game" })
+    List<RentalModel> findAll();
+
+    @EntityGraph(attributePaths = { "customer", "game" })
+    Optional<RentalModel> findWithCustomerAndGameById(Long id);
+
+    // Devolução condicional: só uma de duas chamadas concorrentes para o mesmo aluguel vê 1
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE RentalModel r SET r.returnDate = :today, r.delayFee = :fee WHERE r.id = :id AND r.returnDate IS NULL")
+    int close(@Param("id") Long id, @Param("today") LocalDate today, @Param("fee") int fee);
+
+    @Query("SELECT r FROM RentalModel r LEFT JOIN FETCH r.customer LEFT JOIN FETCH r.game ORDER BY r.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<RentalModel> streamAll();
+
+    @Query("SELECT r FROM RentalModel r LEFT JOIN FETCH r.customer LEFT JOIN FETCH r.game "
+            + "WHERE r.rentDate >= :since OR r.returnDate >= :since ORDER BY r.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<RentalModel> streamChangedSince(@Param("since") LocalDate since);
+
+    List<RentalModel> findByReturnDateIsNullAndExpectedReturnDateIsNullAndIdGreaterThanOrderById(long after,
+            Limit limit);
+
+    // Aluguéis vencidos cuja multa ainda não foi acumulada até o dia informado
+    @Query("SELECT r FROM RentalModel r JOIN FETCH r.game WHERE r.returnDate IS NULL "
+            + "AND r.expectedReturnDate < :day AND (r.feeAccruedOn IS NULL OR r.feeAccruedOn < :day) "
+            + "AND r.id > :after ORDER BY r.id")
+    List<RentalModel> findOverdueNotAccruedOn(@Param("day") LocalDate day, @Param("after") long after, Limit limit);
+
+    // Relatórios: agrega pela chave estrangeira e só depois junta o nome, um acesso por grupo e não por aluguel.
+    // Semana e mês são consolidados no serviço a partir dos totais diários
+    String TOTALS = "COUNT(r.id) AS rentals, SUM(r.originalPrice) AS originalPrice, "
+            + "SUM(COALESCE(r.delayFee, 0)) AS delayFee, SUM(r.daysRented) AS rentalDays "
+            + "FROM RentalModel r WHERE r.rentDate BETWEEN :from AND :to ";
+    String TOTALS_COLUMNS = "t.rentals, t.originalPrice, t.delayFee, t.rentalDays) ";
+
+    @Query("SELECT new com.boardcamp.repositories.RentalTotals(g.id, g.name, g.stockTotal, " + TOTALS_COLUMNS
+            + "FROM (SELECT r.game.id AS groupId, " + TOTALS + "GROUP BY r.game.id) t "
+            + "JOIN GameModel g ON g.id = t.groupId ORDER BY g.id")
+    List<RentalTotals> sumByGame(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.boardcamp.repositories.RentalTotals(c.id, c.name, " + TOTALS_COLUMNS
+            + "FROM (SELECT r.customer.id AS groupId, " + TOTALS + "GROUP BY r.customer.id) t "
+            + "JOIN CustomerModel c ON c.id = t.groupId ORDER BY c.id")
+    List<RentalTotals> sumByCustomer(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.boardcamp.repositories.RentalTotals(r.rentDate, COUNT(r.id), SUM(r.originalPrice), "
+            + "SUM(COALESCE(r.delayFee, 0)), SUM(r.daysRented)) FROM RentalModel r "
+            + "WHERE r.rentDate BETWEEN :from AND :to GROUP BY r.rentDate ORDER BY r.rentDate")
+    List<RentalTotals> sumByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -0,0 +1,49 @@
+package com.boardcamp.repositories;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.boardcamp.models.RentalModel;
+
+public final class RentalSpecifications {
+
+    private RentalSpecifications() {
+    }
+
+    public static Specification<RentalModel> idGreaterThan(Long cursor) {
+        return cursor == null ? null : (root, query, cb) -> cb.greaterThan(root.get("id"), cursor);
+    }
+
+    public static Specification<RentalModel> hasCustomer(Long customerId) {
+        return customerId == null ? null : (root, query, cb) -> cb.equal(root.get("customer").get("id"), customerId);
+    }
+
+    public static Specification<RentalModel> hasGame(Long gameId) {
+        return gameId == null ? null : (root, query, cb) -> cb.equal(root.get("game").get("id"), gameId);
+    }
+
+    public static Specification<RentalModel> isOpen(Boolean open) {
+        if (open == null) {
+            return null;
+        }
+        return open
+                ? (root, query, cb) -> cb.isNull(root.get("returnDate"))
+                : (root, query, cb) -> cb.isNotNull(root.get("returnDate"));
+    }
+
+    public static Specification<RentalModel> rentedFrom(LocalDate startDate) {
+        return startDate == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("rentDate"), startDate);
+    }
+
+    public static Specification<RentalModel> rentedUntil(LocalDate endDate) {
+        return endDate == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("rentDate"), endDate);
+    }
+
+    // Coberto pelo índice idx_rental_overdue (db/migration)
+    public static Specification<RentalModel> overdueOn(LocalDate day) {
+        return day == null ? null : (root, query, cb) -> cb.and(
+                cb.isNull(root.get("returnDate")),
+                cb.lessThan(root.get("expectedReturnDate"), day));
+    }
+}
@@ -0,0 +1,25 @@
+package com.boardcamp.repositories;
+
+import java.time.LocalDate;
+
+// Totais agregados no banco para os relatórios: por jogo, por cliente ou por dia de aluguel
+public record RentalTotals(Long id, String name, Integer stockTotal, LocalDate day, long rentals,
+        long originalPrice, long delayFee, long rentalDays) {
+
+    public RentalTotals(Long id, String name, Integer stockTotal, Long rentals, Long originalPrice, Long delayFee,
+            Long rentalDays) {
+        this(id, name, stockTotal, null, rentals, originalPrice, delayFee, rentalDays);
+    }
+
+    public RentalTotals(Long id, String name, Long rentals, Long originalPrice, Long delayFee, Long rentalDays) {
+        this(id, name, null, null, rentals, originalPrice, delayFee, rentalDays);
+    }
+
+    public RentalTotals(LocalDate day, Long rentals, Long originalPrice, Long delayFee, Long rentalDays) {
+        this(null, null, null, day, rentals, originalPrice, delayFee, rentalDays);
+    }
+
+    public long revenue() {
+        return originalPrice + delayFee;
+    }
+}
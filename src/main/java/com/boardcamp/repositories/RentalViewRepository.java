@@ -0,0 +1,15 @@
+package com.boardcamp.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.boardcamp.dtos.RentalResponseDTO;
+import com.boardcamp.models.RentalModel;
+
+public interface RentalViewRepository {
+
+    // Seleciona só as colunas da resposta, em ordem de id, sem carregar entidades gerenciadas
+    List<RentalResponseDTO> findViews(Specification<RentalModel> spec, boolean withCustomer, boolean withGame,
+            int limit);
+}
@@ -0,0 +1,107 @@
+package com.boardcamp.repositories;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.boardcamp.dtos.CustomerResponseDTO;
+import com.boardcamp.dtos.GameResponseDTO;
+import com.boardcamp.dtos.RentalResponseDTO;
+import com.boardcamp.models.CustomerModel;
+import com.boardcamp.models.GameModel;
+import com.boardcamp.models.RentalModel;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+class RentalViewRepositoryImpl implements RentalViewRepository {
+    private final EntityManager entityManager;
+
+    RentalViewRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<RentalResponseDTO> findViews(Specification<RentalModel> spec, boolean withCustomer, boolean withGame,
+            int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<RentalModel> root = query.from(RentalModel.class);
+
+        // customer.id e game.id saem das chaves estrangeiras, sem JOIN
+        List<Selection<?>> columns = new ArrayList<>(List.of(
+                root.get("id").alias("id"),
+                root.get("customer").get("id").alias("customerId"),
+                root.get("game").get("id").alias("gameId"),
+                root.get("rentDate").alias("rentDate"),
+                root.get("daysRented").alias("daysRented"),
+                root.get("returnDate").alias("returnDate"),
+                root.get("originalPrice").alias("originalPrice"),
+                root.get("delayFee").alias("delayFee"),
+                root.get("expectedReturnDate").alias("expectedReturnDate"),
+                root.get("accruedFee").alias("accruedFee")));
+        if (withCustomer) {
+            Join<RentalModel, CustomerModel> customer = root.join("customer", JoinType.LEFT);
+            columns.add(customer.get("name").alias("customerName"));
+            columns.add(customer.get("phone").alias("customerPhone"));
+            columns.add(customer.get("cpf").alias("customerCpf"));
+        }
+        if (withGame) {
+            Join<RentalModel, GameModel> game = root.join("game", JoinType.LEFT);
+            columns.add(game.get("name").alias("gameName"));
+            columns.add(game.get("image").alias("gameImage"));
+            columns.add(game.get("stockTotal").alias("gameStockTotal"));
+            columns.add(game.get("pricePerDay").alias("gamePricePerDay"));
+        }
+        query.multiselect(columns);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(tuple -> toView(tuple, withCustomer, withGame))
+                .toList();
+    }
+
+    private static RentalResponseDTO toView(Tuple tuple, boolean withCustomer, boolean withGame) {
+        Long customerId = tuple.get("customerId", Long.class);
+        Long gameId = tuple.get("gameId", Long.class);
+        CustomerResponseDTO customer = withCustomer
+                ? new CustomerResponseDTO(customerId, tuple.get("customerName", String.class),
+                        tuple.get("customerPhone", String.class), tuple.get("customerCpf", String.class))
+                : null;
+        GameResponseDTO game = withGame
+                ? new GameResponseDTO(gameId, tuple.get("gameName", String.class),
+                        tuple.get("gameImage", String.class), tuple.get("gameStockTotal", Integer.class),
+                        tuple.get("gamePricePerDay", Integer.class))
+                : null;
+
+        return new RentalResponseDTO(
+                tuple.get("id", Long.class),
+                customerId,
+                gameId,
+                tuple.get("rentDate", LocalDate.class),
+                tuple.get("daysRented", Integer.class),
+                tuple.get("returnDate", LocalDate.class),
+                tuple.get("originalPrice", Integer.class),
+                tuple.get("delayFee", Integer.class),
+                tuple.get("expectedReturnDate", LocalDate.class),
+                tuple.get("accruedFee", Integer.class),
+                customer,
+                game);
+    }
+}
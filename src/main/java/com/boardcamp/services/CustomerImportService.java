@@ -0,0 +1,210 @@
+package com.boardcamp.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.dtos.CustomerDTO;
+import com.boardcamp.dtos.CustomerImportReportDTO;
+import com.boardcamp.exceptions.ErrorCode;
+import com.boardcamp.models.CustomerModel;
+import com.boardcamp.repositories.CustomerRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+@Service
+public class CustomerImportService {
+    public static final int CHUNK_SIZE = 500;
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerImportService.class);
+
+    private final CustomerService customerService;
+    private final CustomerRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final CustomerSearchIndex searchIndex;
+    private final TableVersions tableVersions;
+
+    public CustomerImportService(CustomerService customerService, CustomerRepository repository,
+            TransactionTemplate transactionTemplate, EntityManager entityManager, ObjectMapper objectMapper,
+            CustomerSearchIndex searchIndex, TableVersions tableVersions) {
+        this.customerService = customerService;
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.searchIndex = searchIndex;
+        this.tableVersions = tableVersions;
+    }
+
+    public CustomerImportReportDTO importCsv(BufferedReader reader) throws IOException {
+        return importRows(reader, this::parseCsvLine);
+    }
+
+    public CustomerImportReportDTO importNdjson(BufferedReader reader) throws IOException {
+        return importRows(reader, this::parseJsonLine);
+    }
+
+    private CustomerImportReportDTO importRows(BufferedReader reader, LineParser parser) throws IOException {
+        CustomerImportReportDTO report = new CustomerImportReportDTO();
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        long lineNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && isCsvHeader(line))) {
+                continue;
+            }
+
+            CustomerDTO dto = parser.parse(line);
+            if (dto == null) {
+                report.reject(lineNumber, null, "Linha inválida");
+                continue;
+            }
+
+            chunk.add(new Row(lineNumber, dto));
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, report);
+        }
+        logger.info("Importação concluída: {} clientes gravados, {} linhas rejeitadas", report.getImported(),
+                report.getRejected());
+        return report;
+    }
+
+    private void importChunk(List<Row> chunk, CustomerImportReportDTO report) {
+        List<Row> valid = new ArrayList<>(chunk.size());
+        Set<String> cpfs = new HashSet<>();
+        for (Row row : chunk) {
+            ErrorCode error = customerService.validationError(row.dto());
+            if (error != null) {
+                report.reject(row.line(), row.dto().getCpf(), error.getMessage());
+            } else if (!cpfs.add(row.dto().getCpf())) {
+                report.reject(row.line(), row.dto().getCpf(), "CPF duplicado no arquivo");
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = repository.findExistingCpfs(cpfs);
+        List<Row> toInsert = new ArrayList<>(valid.size());
+        for (Row row : valid) {
+            if (existing.contains(row.dto().getCpf())) {
+                report.reject(row.line(), row.dto().getCpf(), ErrorCode.CPF_TAKEN.getMessage());
+            } else {
+                toInsert.add(row);
+            }
+        }
+
+        try {
+            // Índice de busca e versão da tabela só mudam depois do commit
+            committed(transactionTemplate.execute(status -> insert(toInsert)));
+            report.setImported(report.getImported() + toInsert.size());
+        } catch (DataIntegrityViolationException e) {
+            // Outro cadastro gravou um dos CPFs entre a consulta e o INSERT: refaz o lote linha a linha
+            insertOneByOne(toInsert, report);
+        }
+    }
+
+    private void insertOneByOne(List<Row> rows, CustomerImportReportDTO report) {
+        for (Row row : rows) {
+            try {
+                committed(transactionTemplate.execute(status -> insert(List.of(row))));
+                report.setImported(report.getImported() + 1);
+            } catch (DataIntegrityViolationException e) {
+                report.reject(row.line(), row.dto().getCpf(), ErrorCode.CPF_TAKEN.getMessage());
+            }
+        }
+    }
+
+    private void committed(List<CustomerModel> customers) {
+        searchIndex.registerAll(customers);
+        tableVersions.bump(TableVersions.Table.CUSTOMERS);
+    }
+
+    private List<CustomerModel> insert(List<Row> rows) {
+        List<CustomerModel> customers = rows.stream()
+                .map(row -> new CustomerModel(null, row.dto().getName(), row.dto().getPhone(), row.dto().getCpf()))
+                .toList();
+        // saveAllAndFlush passa pelo proxy do repositório, que traduz violações de unicidade
+        List<CustomerModel> saved = repository.saveAllAndFlush(customers);
+        entityManager.clear();
+        return saved;
+    }
+
+    private boolean isCsvHeader(String line) {
+        String first = line.split(",", 2)[0].trim().replace("\"", "");
+        return first.equalsIgnoreCase("name") || first.equalsIgnoreCase("nome");
+    }
+
+    private CustomerDTO parseJsonLine(String line) {
+        try {
+            return objectMapper.readValue(line, CustomerDTO.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    // Colunas name,phone,cpf; aceita campos entre aspas com vírgulas e aspas duplicadas ("")
+    private CustomerDTO parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+
+        if (quoted || fields.size() != 3) {
+            return null;
+        }
+        return new CustomerDTO(fields.get(0), fields.get(1), fields.get(2));
+    }
+
+    @FunctionalInterface
+    private interface LineParser {
+        CustomerDTO parse(String line);
+    }
+
+    private record Row(long line, CustomerDTO dto) {
+    }
+}
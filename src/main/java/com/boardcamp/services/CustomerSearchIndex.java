@@ -0,0 +1,262 @@
+package com.boardcamp.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.dtos.CustomerResponseDTO;
+import com.boardcamp.models.CustomerModel;
+import com.boardcamp.repositories.CatalogStamp;
+import com.boardcamp.repositories.CustomerRepository;
+
+/**
+ * Busca por prefixo de nome (sem acento: "joao" acha João), telefone ou CPF para o type-ahead do balcão, sem ir ao
+ * banco. Cada cliente gera uma chave por palavra do nome (a primeira é o nome inteiro, para prefixos com espaço),
+ * uma pelo telefone e uma pelo CPF. As chaves carregadas na partida ficam num array ordenado imutável; cadastros
+ * posteriores entram num skip list que o agendamento funde no array. Cadastros de outras instâncias e remoções direto
+ * no banco não passam por aqui: entram no rewarm, que refaz a carga quando a quantidade ou o maior id de clientes
+ * mudaram desde a última. Os ids vêm em blocos por instância, então uma varredura por id maior que o último visto
+ * perderia cadastros. warmUp e compact não rodam juntos; buscas e cadastros nunca esperam por eles.
+ */
+@Component
+public class CustomerSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(CustomerSearchIndex.class);
+    // Chave e depois id; a entrada de busca (sem cliente) fica antes de todas as chaves iguais ao prefixo
+    private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::key)
+            .thenComparingLong(entry -> entry.customer() == null ? Long.MIN_VALUE : entry.customer().id());
+
+    private final CustomerRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final NavigableSet<Entry> recent = new ConcurrentSkipListSet<>(ORDER);
+    private final ReentrantLock maintenance = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new CustomerResponseDTO[0]);
+    private volatile CatalogStamp loadedStamp;
+
+    public CustomerSearchIndex(CustomerRepository repository, TransactionTemplate transactionTemplate) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        maintenance.lock();
+        try {
+            List<Entry> entries = new ArrayList<>();
+            // Lido antes do cursor: um cadastro no meio da carga só faz o próximo rewarm repetir a carga
+            CatalogStamp stamp = transactionTemplate.execute(status -> {
+                CatalogStamp before = repository.findCatalogStamp();
+                // Cursor com fetch size: os DTOs não passam pelo contexto de persistência
+                try (Stream<CustomerResponseDTO> customers = repository.streamAllViews()) {
+                    customers.forEach(customer -> addEntries(customer, entries::add));
+                }
+                return before;
+            });
+            entries.sort(ORDER);
+            Snapshot loaded = Snapshot.of(entries);
+            snapshot = loaded;
+            // Cadastros que o cursor já tinha passado não estão na carga e continuam em recent até o compact
+            recent.removeIf(loaded::contains);
+            loadedStamp = stamp;
+            logger.info("Índice de busca de clientes carregado com {} chaves", entries.size());
+        } finally {
+            maintenance.unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${customers.search.rewarm-interval-ms}",
+            fixedDelayString = "${customers.search.rewarm-interval-ms}")
+    public void rewarm() {
+        if (!repository.findCatalogStamp().equals(loadedStamp)) {
+            warmUp();
+        }
+    }
+
+    public void register(CustomerModel customer) {
+        addEntries(CustomerResponseDTO.from(customer), recent::add);
+    }
+
+    public void registerAll(List<CustomerModel> customers) {
+        customers.forEach(this::register);
+    }
+
+    // Funde os cadastros recentes no array ordenado; buscas concorrentes continuam lendo o snapshot anterior
+    @Scheduled(fixedDelayString = "${customers.search.compact-interval-ms}")
+    public void compact() {
+        maintenance.lock();
+        try {
+            if (recent.isEmpty()) {
+                return;
+            }
+            List<Entry> merged = new ArrayList<>(snapshot.keys.length + recent.size());
+            List<Entry> moved = new ArrayList<>(recent);
+            Snapshot current = snapshot;
+            int i = 0;
+            for (Entry entry : moved) {
+                while (i < current.keys.length && current.compareTo(i, entry) < 0) {
+                    merged.add(current.entry(i++));
+                }
+                merged.add(entry);
+            }
+            while (i < current.keys.length) {
+                merged.add(current.entry(i++));
+            }
+            snapshot = Snapshot.of(merged);
+            // Só depois de publicar o snapshot: uma busca no meio do caminho vê a chave duas vezes, nunca nenhuma
+            moved.forEach(recent::remove);
+            logger.debug("{} chaves recentes fundidas no índice de busca", moved.size());
+        } finally {
+            maintenance.unlock();
+        }
+    }
+
+    // Resultados em ordem alfabética da chave encontrada, sem repetir cliente
+    public List<CustomerResponseDTO> search(String query, int limit) {
+        String prefix = normalizeQuery(query);
+        List<CustomerResponseDTO> result = new ArrayList<>(limit);
+        if (prefix.isEmpty()) {
+            return result;
+        }
+
+        Snapshot current = snapshot;
+        int i = current.lowerBound(prefix);
+        Iterator<Entry> fresh = recent.tailSet(new Entry(prefix, null), true).iterator();
+        Entry next = fresh.hasNext() ? fresh.next() : null;
+
+        while (result.size() < limit) {
+            boolean fromSnapshot = i < current.keys.length && current.keys[i].startsWith(prefix);
+            boolean fromRecent = next != null && next.key().startsWith(prefix);
+            if (!fromSnapshot && !fromRecent) {
+                break;
+            }
+            CustomerResponseDTO customer;
+            if (fromSnapshot && (!fromRecent || current.compareTo(i, next) <= 0)) {
+                customer = current.customers[i++];
+            } else {
+                customer = next.customer();
+                next = fresh.hasNext() ? fresh.next() : null;
+            }
+            if (!contains(result, customer.id())) {
+                result.add(customer);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return snapshot.keys.length + recent.size();
+    }
+
+    private static boolean contains(List<CustomerResponseDTO> result, Long id) {
+        for (CustomerResponseDTO customer : result) {
+            if (customer.id().equals(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addEntries(CustomerResponseDTO customer, Consumer<Entry> sink) {
+        String name = SearchText.fold(customer.name());
+        if (!name.isEmpty()) {
+            sink.accept(new Entry(name, customer));
+            for (int i = 1; i < name.length(); i++) {
+                if (name.charAt(i - 1) == ' ' && name.charAt(i) != ' ') {
+                    sink.accept(new Entry(name.substring(i), customer));
+                }
+            }
+        }
+        if (customer.phone() != null) {
+            sink.accept(new Entry(customer.phone(), customer));
+        }
+        if (customer.cpf() != null) {
+            sink.accept(new Entry(customer.cpf(), customer));
+        }
+    }
+
+    // Consultas só com dígitos e pontuação ("529.982", "(11) 9988") buscam telefone e CPF pelos dígitos
+    private static String normalizeQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(query.length());
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (".-()/ ".indexOf(c) < 0) {
+                return SearchText.fold(query);
+            }
+        }
+        return digits.toString();
+    }
+
+    private record Entry(String key, CustomerResponseDTO customer) {
+    }
+
+    // Arrays paralelos em vez de um objeto por chave: com milhões de clientes a diferença é de centenas de MB
+    private static final class Snapshot {
+        final String[] keys;
+        final CustomerResponseDTO[] customers;
+
+        Snapshot(String[] keys, CustomerResponseDTO[] customers) {
+            this.keys = keys;
+            this.customers = customers;
+        }
+
+        static Snapshot of(List<Entry> sorted) {
+            String[] keys = new String[sorted.size()];
+            CustomerResponseDTO[] customers = new CustomerResponseDTO[sorted.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = sorted.get(i).key();
+                customers[i] = sorted.get(i).customer();
+            }
+            return new Snapshot(keys, customers);
+        }
+
+        boolean contains(Entry entry) {
+            for (int i = lowerBound(entry.key()); i < keys.length && keys[i].equals(entry.key()); i++) {
+                if (customers[i].id().equals(entry.customer().id())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Entry entry(int i) {
+            return new Entry(keys[i], customers[i]);
+        }
+
+        // Mesma ordem de ORDER sem alocar uma Entry por comparação
+        int compareTo(int i, Entry entry) {
+            int byKey = keys[i].compareTo(entry.key());
+            return byKey != 0 ? byKey : Long.compare(customers[i].id(), entry.customer().id());
+        }
+
+        // Primeira posição com chave >= prefixo
+        int lowerBound(String prefix) {
+            int index = Arrays.binarySearch(keys, prefix);
+            if (index < 0) {
+                return -index - 1;
+            }
+            while (index > 0 && keys[index - 1].equals(prefix)) {
+                index--;
+            }
+            return index;
+        }
+    }
+}
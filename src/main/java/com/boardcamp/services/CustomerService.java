@@ -2,45 +2,73 @@ package com.boardcamp.services;
 
 import java.util.List;
 
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
 
 import com.boardcamp.dtos.CustomerDTO;
+import com.boardcamp.dtos.CustomerResponseDTO;
+import com.boardcamp.exceptions.ErrorCode;
+import com.boardcamp.metrics.Untimed;
 import com.boardcamp.models.CustomerModel;
 import com.boardcamp.repositories.CustomerRepository;
+import com.boardcamp.validators.CustomerValidator;
 
 @Service
 public class CustomerService {
+    public static final int DEFAULT_SEARCH_SIZE = 10;
+    public static final int MAX_SEARCH_SIZE = 50;
+
     private final CustomerRepository repository;
+    private final CustomerSearchIndex searchIndex;
+    private final TableVersions tableVersions;
 
-    public CustomerService(CustomerRepository repository) {
+    public CustomerService(CustomerRepository repository, CustomerSearchIndex searchIndex,
+            TableVersions tableVersions) {
         this.repository = repository;
+        this.searchIndex = searchIndex;
+        this.tableVersions = tableVersions;
     }
 
-    public List<CustomerModel> listCustomers() {
-        return repository.findAll();
+    public List<CustomerResponseDTO> listCustomers() {
+        return repository.findAllViews();
     }
 
-    public CustomerModel getCustomer(Long id) {
-        return repository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cliente não encontrado"));
-    }
+    // Type-ahead do balcão: prefixo de qualquer palavra do nome, do telefone ou do CPF, respondido pelo índice
+    public List<CustomerResponseDTO> searchCustomers(String query, Integer requestedLimit) {
+        if (query == null || query.isBlank())
+            throw ErrorCode.INVALID_QUERY.exception();
 
-    public CustomerModel createCustomer(CustomerDTO dto) {
-        if (dto.getName() == null || dto.getName().isBlank())
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nome é obrigatório");
+        int limit = requestedLimit == null ? DEFAULT_SEARCH_SIZE : requestedLimit;
+        if (limit <= 0 || limit > MAX_SEARCH_SIZE)
+            throw ErrorCode.INVALID_LIMIT.exception();
 
-        if (!dto.getCpf().matches("\\d{11}"))
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CPF inválido");
+        return searchIndex.search(query, limit);
+    }
 
-        if (!dto.getPhone().matches("\\d{10,11}"))
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Telefone inválido");
+    public CustomerResponseDTO getCustomer(Long id) {
+        return repository.findViewById(id)
+                .orElseThrow(ErrorCode.CUSTOMER_NOT_FOUND::exception);
+    }
+
+    public CustomerModel createCustomer(CustomerDTO dto) {
+        ErrorCode error = validationError(dto);
+        if (error != null)
+            throw error.exception();
 
         if (repository.existsByCpf(dto.getCpf()))
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "CPF já cadastrado");
+            throw ErrorCode.CPF_TAKEN.exception();
 
         CustomerModel customer = new CustomerModel(null, dto.getName(), dto.getPhone(), dto.getCpf());
-        return repository.save(customer);
+        CustomerModel saved = repository.save(customer);
+        TransactionHooks.afterCommit(() -> {
+            searchIndex.register(saved);
+            tableVersions.bump(TableVersions.Table.CUSTOMERS);
+        });
+        return saved;
+    }
+
+    // Regras de formato compartilhadas com a importação em lote; retorna null quando o cliente é válido
+    @Untimed
+    public ErrorCode validationError(CustomerDTO dto) {
+        return CustomerValidator.validate(dto);
     }
 }
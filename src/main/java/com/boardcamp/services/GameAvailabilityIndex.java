@@ -0,0 +1,261 @@
+package com.boardcamp.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.boardcamp.repositories.GameRepository;
+import com.boardcamp.repositories.GameStockView;
+
+/**
+ * Estoque total e aluguéis em aberto por jogo, mantidos em memória para consultas de disponibilidade
+ * sem acesso ao banco. O contador autoritativo continua sendo o de GameModel; este índice só serve
+ * para leitura (listagem e busca de disponíveis) e nunca recusa um aluguel. Aluguéis feitos por outra instância
+ * não passam por aqui: o warmUp é repetido a cada games.availability.rewarm-interval-ms, o que limita a diferença
+ * para o banco ao que as outras instâncias movimentaram nesse intervalo.
+ */
+@Component
+public class GameAvailabilityIndex {
+    private static final Logger logger = LoggerFactory.getLogger(GameAvailabilityIndex.class);
+    private static final int MIN_CAPACITY = 16;
+
+    private final GameRepository gameRepository;
+    private final StampedLock lock = new StampedLock();
+    private final ReentrantLock loads = new ReentrantLock();
+    private Table table = new Table(MIN_CAPACITY);
+    // Não nulo durante o warmUp: mudanças que chegam enquanto a carga roda, reaplicadas sobre ela
+    private List<Consumer<GameAvailabilityIndex>> pendingDuringLoad;
+
+    public GameAvailabilityIndex(GameRepository gameRepository) {
+        this.gameRepository = gameRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        logger.info("Índice de disponibilidade carregado com {} jogos", load());
+    }
+
+    @Scheduled(initialDelayString = "${games.availability.rewarm-interval-ms}",
+            fixedDelayString = "${games.availability.rewarm-interval-ms}")
+    public void rewarm() {
+        logger.debug("Índice de disponibilidade recarregado com {} jogos", load());
+    }
+
+    private int load() {
+        loads.lock();
+        try {
+            return loadTable();
+        } finally {
+            loads.unlock();
+        }
+    }
+
+    private int loadTable() {
+        long stamp = lock.writeLock();
+        try {
+            pendingDuringLoad = new ArrayList<>();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        List<GameStockView> summary;
+        try {
+            summary = gameRepository.findStockSummary();
+        } catch (RuntimeException e) {
+            clearPending();
+            throw e;
+        }
+        Table loaded = new Table(capacityFor(summary.size()));
+        for (GameStockView view : summary) {
+            loaded.put(view.getGameId(), view.getStockTotal(), view.getOpenRentals().intValue());
+        }
+
+        // Um aluguel confirmado logo antes da consulta e notificado durante ela conta duas vezes até a próxima
+        // recarga; o erro fica do lado de mostrar menos disponíveis, e a reserva no banco é quem decide
+        stamp = lock.writeLock();
+        try {
+            table = loaded;
+            pendingDuringLoad.forEach(change -> change.accept(this));
+            pendingDuringLoad = null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return summary.size();
+    }
+
+    public void register(long gameId, int stockTotal) {
+        long stamp = lock.writeLock();
+        try {
+            putIfAbsent(gameId, stockTotal);
+            if (pendingDuringLoad != null) {
+                pendingDuringLoad.add(index -> index.putIfAbsent(gameId, stockTotal));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void rentalOpened(long gameId) {
+        adjustOpenRentals(gameId, 1);
+    }
+
+    public void rentalsOpened(long gameId, int count) {
+        adjustOpenRentals(gameId, count);
+    }
+
+    public void rentalClosed(long gameId) {
+        adjustOpenRentals(gameId, -1);
+    }
+
+    // Jogos desconhecidos não são rejeitados aqui: a reserva no banco decide
+    public boolean isKnownOutOfStock(long gameId) {
+        long stamp = lock.tryOptimisticRead();
+        int available = table.available(gameId);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                available = table.available(gameId);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return available != Table.UNKNOWN && available <= 0;
+    }
+
+    public long[] availableGameIds() {
+        long stamp = lock.readLock();
+        try {
+            return table.availableIds();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void adjustOpenRentals(long gameId, int delta) {
+        long stamp = lock.writeLock();
+        try {
+            table.adjust(gameId, delta);
+            if (pendingDuringLoad != null) {
+                pendingDuringLoad.add(index -> index.table.adjust(gameId, delta));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void clearPending() {
+        long stamp = lock.writeLock();
+        try {
+            pendingDuringLoad = null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Chamado com o lock de escrita; um jogo que a carga já trouxe mantém os aluguéis em aberto dela
+    private void putIfAbsent(long gameId, int stockTotal) {
+        if (table.available(gameId) == Table.UNKNOWN) {
+            ensureCapacity();
+            table.put(gameId, stockTotal, 0);
+        }
+    }
+
+    private void ensureCapacity() {
+        if ((table.size + 1) * 2 > table.ids.length) {
+            table = table.resize(table.ids.length * 2);
+        }
+    }
+
+    private static int capacityFor(int entries) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < entries * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // Endereçamento aberto com sondagem linear sobre arrays primitivos; id 0 marca posição livre
+    private static final class Table {
+        static final int UNKNOWN = Integer.MIN_VALUE;
+
+        final long[] ids;
+        final int[] stockTotals;
+        final int[] openRentals;
+        int size;
+
+        Table(int capacity) {
+            ids = new long[capacity];
+            stockTotals = new int[capacity];
+            openRentals = new int[capacity];
+        }
+
+        int slot(long gameId) {
+            int mask = ids.length - 1;
+            int i = Long.hashCode(gameId * 0x9E3779B97F4A7C15L) & mask;
+            for (int probes = 0; probes < ids.length; probes++) {
+                long id = ids[i];
+                if (id == gameId || id == 0) {
+                    return i;
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        int available(long gameId) {
+            int i = slot(gameId);
+            if (i < 0 || ids[i] != gameId) {
+                return UNKNOWN;
+            }
+            return stockTotals[i] - openRentals[i];
+        }
+
+        void put(long gameId, int stockTotal, int open) {
+            int i = slot(gameId);
+            if (ids[i] == 0) {
+                ids[i] = gameId;
+                size++;
+            }
+            stockTotals[i] = stockTotal;
+            openRentals[i] = open;
+        }
+
+        void adjust(long gameId, int delta) {
+            int i = slot(gameId);
+            if (i >= 0 && ids[i] == gameId) {
+                openRentals[i] = Math.max(0, openRentals[i] + delta);
+            }
+        }
+
+        long[] availableIds() {
+            long[] result = new long[size];
+            int count = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] != 0 && stockTotals[i] > openRentals[i]) {
+                    result[count++] = ids[i];
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        Table resize(int capacity) {
+            Table resized = new Table(capacity);
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] != 0) {
+                    resized.put(ids[i], stockTotals[i], openRentals[i]);
+                }
+            }
+            return resized;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.boardcamp.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.boardcamp.dtos.GameResponseDTO;
+import com.boardcamp.models.GameModel;
+import com.boardcamp.repositories.CatalogStamp;
+import com.boardcamp.repositories.GameRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * GET /games pronto em bytes: o catálogo serializado em JSON, com a resposta montada uma vez por versão. Cada
+ * cadastro gera um snapshot novo a partir do anterior, sem consultar o banco, trocado numa escrita volátil; quem lê
+ * nunca vê um catálogo pela metade. A versão de jogos em {@link TableVersions} só muda aqui, junto com o snapshot,
+ * então cada ETag corresponde a exatamente um corpo. O gzip e o CBOR (application/cbor, com o mapper do mesmo builder
+ * do Boot) são feitos na primeira leitura que os pede, cada um com a sua ETag.
+ * A primeira carga acontece quando os singletons terminam de subir, antes do servidor web aceitar requisições: o
+ * GET /games nunca consulta o banco nem serializa o catálogo. Jogos cadastrados por outra instância, ou direto no
+ * banco, entram no refresh periódico, que recarrega tudo quando a quantidade ou o maior id diferem do snapshot.
+ */
+@Component
+public class GameCatalogSnapshot implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(GameCatalogSnapshot.class);
+    private static final Comparator<GameResponseDTO> BY_ID = Comparator.comparing(GameResponseDTO::id);
+
+    private final GameRepository repository;
+    private final TableVersions tableVersions;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final ReentrantLock writes = new ReentrantLock();
+    private volatile Snapshot current;
+
+    public GameCatalogSnapshot(GameRepository repository, TableVersions tableVersions, ObjectMapper objectMapper,
+            Jackson2ObjectMapperBuilder builder) {
+        this.repository = repository;
+        this.tableVersions = tableVersions;
+        this.objectMapper = objectMapper;
+        this.cborMapper = builder.factory(new CBORFactory()).build();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    // Carga completa do banco, na subida ou depois de escritas que não passaram pelo addGame
+    public void rebuild() {
+        writes.lock();
+        try {
+            tableVersions.bump(TableVersions.Table.GAMES);
+            List<GameResponseDTO> games = List.copyOf(repository.findAllViews());
+            current = new Snapshot(tableVersions.etag(TableVersions.Table.GAMES), games, serialize(games), cborMapper);
+            logger.debug("Snapshot do catálogo carregado: {} jogos, {} bytes", games.size(), current.bytes.length);
+        } finally {
+            writes.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${games.catalog.refresh-interval-ms}")
+    public void refresh() {
+        Snapshot snapshot = current;
+        if (snapshot == null || !repository.findCatalogStamp().equals(snapshot.stamp())) {
+            rebuild();
+        }
+    }
+
+    // Chamado depois do commit do cadastro
+    public void add(GameModel game) {
+        writes.lock();
+        try {
+            Snapshot previous = current();
+            GameResponseDTO added = GameResponseDTO.from(game);
+            List<GameResponseDTO> games = new ArrayList<>(previous.games.size() + 1);
+            games.addAll(previous.games);
+
+            byte[] json;
+            if (games.isEmpty() || BY_ID.compare(games.get(games.size() - 1), added) < 0) {
+                // Caso comum: id maior que todos, o JSON novo é o anterior com mais um elemento no fim
+                games.add(added);
+                json = append(previous.bytes, serialize(added), previous.games.isEmpty());
+            } else {
+                // Commits fora da ordem de id: mantém a ordem do findAllViews
+                int position = Collections.binarySearch(games, added, BY_ID);
+                if (position >= 0) {
+                    // Já veio na carga completa
+                    return;
+                }
+                games.add(-position - 1, added);
+                json = serialize(games);
+            }
+            tableVersions.bump(TableVersions.Table.GAMES);
+            current = new Snapshot(tableVersions.etag(TableVersions.Table.GAMES), List.copyOf(games), json,
+                    cborMapper);
+        } finally {
+            writes.unlock();
+        }
+    }
+
+    public Snapshot current() {
+        Snapshot snapshot = current;
+        if (snapshot == null) {
+            // Só antes de afterSingletonsInstantiated, ou seja, antes do servidor web subir
+            throw new IllegalStateException("Snapshot do catálogo ainda não carregado");
+        }
+        return snapshot;
+    }
+
+    private byte[] serialize(Object value) {
+        return serialize(objectMapper, value);
+    }
+
+    private static byte[] serialize(ObjectMapper mapper, Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // "[a,b]" + c -> "[a,b,c]"
+    private static byte[] append(byte[] array, byte[] element, boolean wasEmpty) {
+        int prefix = array.length - 1;
+        byte[] json = Arrays.copyOf(array, prefix + (wasEmpty ? 0 : 1) + element.length + 1);
+        int position = prefix;
+        if (!wasEmpty) {
+            json[position++] = ',';
+        }
+        System.arraycopy(element, 0, json, position, element.length);
+        json[json.length - 1] = ']';
+        return json;
+    }
+
+    public static final class Snapshot {
+        private final String etag;
+        private final String gzipEtag;
+        private final String cborEtag;
+        private final List<GameResponseDTO> games;
+        private final byte[] bytes;
+        private final ObjectMapper cborMapper;
+        private final ResponseEntity<byte[]> json;
+        private volatile ResponseEntity<byte[]> gzip;
+        private volatile ResponseEntity<byte[]> cbor;
+
+        Snapshot(String etag, List<GameResponseDTO> games, byte[] bytes, ObjectMapper cborMapper) {
+            this.etag = etag;
+            // Bytes diferentes, ETags fortes diferentes
+            this.gzipEtag = etag.substring(0, etag.length() - 1) + "-gzip\"";
+            this.cborEtag = etag.substring(0, etag.length() - 1) + "-cbor\"";
+            this.games = games;
+            this.bytes = bytes;
+            this.cborMapper = cborMapper;
+            this.json = response(etag, MediaType.APPLICATION_JSON, bytes, null);
+        }
+
+        public String etag(boolean gzipped) {
+            return gzipped ? gzipEtag : etag;
+        }
+
+        public String cborEtag() {
+            return cborEtag;
+        }
+
+        CatalogStamp stamp() {
+            return new CatalogStamp(games.size(), games.isEmpty() ? 0 : games.get(games.size() - 1).id());
+        }
+
+        public ResponseEntity<byte[]> json() {
+            return json;
+        }
+
+        // Corrida benigna: duas threads podem comprimir ao mesmo tempo, ambas com o mesmo resultado
+        public ResponseEntity<byte[]> gzip() {
+            ResponseEntity<byte[]> response = gzip;
+            if (response == null) {
+                response = response(gzipEtag, MediaType.APPLICATION_JSON, compress(bytes), "gzip");
+                gzip = response;
+            }
+            return response;
+        }
+
+        // Mesma corrida benigna do gzip
+        public ResponseEntity<byte[]> cbor() {
+            ResponseEntity<byte[]> response = cbor;
+            if (response == null) {
+                response = response(cborEtag, MediaType.APPLICATION_CBOR, serialize(cborMapper, games), null);
+                cbor = response;
+            }
+            return response;
+        }
+
+        private static byte[] compress(byte[] json) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+                out.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+
+        private static ResponseEntity<byte[]> response(String etag, MediaType type, byte[] body, String encoding) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(type);
+            headers.setContentLength(body.length);
+            headers.setETag(etag);
+            headers.setVary(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING));
+            if (encoding != null) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, encoding);
+            }
+            return new ResponseEntity<>(body, HttpHeaders.readOnlyHttpHeaders(headers), HttpStatus.OK);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.boardcamp.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.boardcamp.dtos.GameResponseDTO;
+import com.boardcamp.models.GameModel;
+import com.boardcamp.repositories.CatalogStamp;
+import com.boardcamp.repositories.GameRepository;
+
+/**
+ * Índice invertido do catálogo: cada palavra do nome, sem acento e em minúsculas, aponta para os jogos que a contêm.
+ * Cada termo da busca casa por prefixo com as palavras do índice e todos os termos precisam casar. A ordem privilegia
+ * palavra inteira sobre prefixo e nome que começa pela busca; empates vão para o nome mais curto. Sem termo de busca
+ * a ordem é a do nome sem acento. Preço e disponibilidade são filtrados aqui, a disponibilidade pelo
+ * GameAvailabilityIndex. Jogos cadastrados por outra instância entram pelo mesmo refresh do GameCatalogSnapshot:
+ * recarga completa quando a quantidade ou o maior id do banco diferem do índice.
+ */
+@Component
+public class GameSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(GameSearchIndex.class);
+    private static final int EXACT_TERM = 3;
+    private static final int PREFIX_TERM = 1;
+    private static final int NAME_PREFIX = 2;
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparingInt(hit -> hit.game().folded().length())
+            .thenComparing(hit -> hit.game().folded())
+            .thenComparingLong(hit -> hit.game().game().id());
+    private static final Comparator<Hit> NAME_ORDER = Comparator.comparing((Hit hit) -> hit.game().folded())
+            .thenComparingLong(hit -> hit.game().game().id());
+
+    private final GameRepository repository;
+    private final GameAvailabilityIndex availabilityIndex;
+    // Cadastros esperam a carga terminar para não irem para o catálogo que vai ser trocado
+    private final ReentrantLock writes = new ReentrantLock();
+    private volatile Catalog catalog = new Catalog();
+
+    public GameSearchIndex(GameRepository repository, GameAvailabilityIndex availabilityIndex) {
+        this.repository = repository;
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        writes.lock();
+        try {
+            Catalog loaded = new Catalog();
+            List<GameResponseDTO> games = repository.findAllViews();
+            games.forEach(loaded::add);
+            catalog = loaded;
+            logger.info("Índice de busca do catálogo carregado com {} jogos e {} palavras", games.size(),
+                    loaded.postings.size());
+        } finally {
+            writes.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${games.catalog.refresh-interval-ms}")
+    public void refresh() {
+        if (!repository.findCatalogStamp().equals(catalog.stamp())) {
+            warmUp();
+        }
+    }
+
+    public void register(GameModel game) {
+        writes.lock();
+        try {
+            catalog.add(GameResponseDTO.from(game));
+        } finally {
+            writes.unlock();
+        }
+    }
+
+    public List<GameResponseDTO> search(String query, Integer minPrice, Integer maxPrice, boolean availableOnly,
+            int limit) {
+        Catalog current = catalog;
+        String folded = SearchText.fold(query);
+        Map<Long, Integer> scores = folded.isEmpty() ? null : score(current, folded);
+
+        // Heap dos `limit` melhores com o pior no topo: não ordena todos os candidatos
+        Comparator<Hit> order = scores == null ? NAME_ORDER : RANKING;
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, order.reversed());
+        Iterable<Long> candidates = scores == null ? current.games.keySet() : scores.keySet();
+        for (Long id : candidates) {
+            Document game = current.games.get(id);
+            if (game == null || !matchesFilters(game.game(), minPrice, maxPrice, availableOnly)) {
+                continue;
+            }
+            int score = scores == null ? 0 : scores.get(id);
+            if (scores != null && game.folded().startsWith(folded)) {
+                score += NAME_PREFIX;
+            }
+            best.add(new Hit(game, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<GameResponseDTO> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(best.poll().game().game());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    // Soma, para cada termo, a melhor palavra do jogo que casa com ele; jogos que falham algum termo saem.
+    // Só o termo mais seletivo percorre o índice; os demais são conferidos nas palavras de cada candidato
+    private static Map<Long, Integer> score(Catalog current, String folded) {
+        List<Term> terms = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(SearchText.tokens(folded))) {
+            terms.add(new Term(term, current.postings.subMap(term, true, term + Character.MAX_VALUE, false)));
+        }
+        terms.sort(Comparator.comparingLong(Term::matches));
+
+        Map<Long, Integer> scores = new HashMap<>();
+        Term first = terms.get(0);
+        for (Map.Entry<String, long[]> word : first.words().entrySet()) {
+            int points = word.getKey().equals(first.text()) ? EXACT_TERM : PREFIX_TERM;
+            for (long id : word.getValue()) {
+                scores.merge(id, points, Math::max);
+            }
+        }
+        for (Term term : terms.subList(1, terms.size())) {
+            scores.entrySet().removeIf(entry -> {
+                Document game = current.games.get(entry.getKey());
+                int points = game == null ? 0 : game.points(term.text());
+                entry.setValue(entry.getValue() + points);
+                return points == 0;
+            });
+        }
+        return scores;
+    }
+
+    private boolean matchesFilters(GameResponseDTO game, Integer minPrice, Integer maxPrice, boolean availableOnly) {
+        if (minPrice != null && game.pricePerDay() < minPrice) {
+            return false;
+        }
+        if (maxPrice != null && game.pricePerDay() > maxPrice) {
+            return false;
+        }
+        return !availableOnly || !availabilityIndex.isKnownOutOfStock(game.id());
+    }
+
+    private record Document(GameResponseDTO game, String folded, String[] words) {
+
+        int points(String term) {
+            int best = 0;
+            for (String word : words) {
+                if (word.equals(term)) {
+                    return EXACT_TERM;
+                }
+                if (word.startsWith(term)) {
+                    best = PREFIX_TERM;
+                }
+            }
+            return best;
+        }
+    }
+
+    private record Term(String text, Map<String, long[]> words) {
+
+        long matches() {
+            long matches = 0;
+            for (long[] ids : words.values()) {
+                matches += ids.length;
+            }
+            return matches;
+        }
+    }
+
+    private record Hit(Document game, int score) {
+    }
+
+    // Cópia na escrita das listas de ids: o catálogo cresce devagar e as buscas leem sem trava
+    private static final class Catalog {
+        final Map<Long, Document> games = new ConcurrentHashMap<>();
+        final ConcurrentSkipListMap<String, long[]> postings = new ConcurrentSkipListMap<>();
+        volatile long lastId;
+
+        void add(GameResponseDTO game) {
+            String folded = SearchText.fold(game.name());
+            Set<String> words = new LinkedHashSet<>(SearchText.tokens(folded));
+            Document document = new Document(game, folded, words.toArray(String[]::new));
+            for (String word : words) {
+                postings.merge(word, new long[] { game.id() }, Catalog::append);
+            }
+            games.put(game.id(), document);
+            lastId = Math.max(lastId, game.id());
+        }
+
+        CatalogStamp stamp() {
+            return new CatalogStamp(games.size(), lastId);
+        }
+
+        private static long[] append(long[] ids, long[] added) {
+            long[] merged = Arrays.copyOf(ids, ids.length + added.length);
+            System.arraycopy(added, 0, merged, ids.length, added.length);
+            return merged;
+        }
+    }
+}
@@ -1,47 +1,84 @@
 package com.boardcamp.services;
 
+import java.util.Arrays;
 import java.util.List;
 
-import org.springframework.http.HttpStatus;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
 
 import com.boardcamp.dtos.GameDTO;
+import com.boardcamp.dtos.GameResponseDTO;
+import com.boardcamp.exceptions.ErrorCode;
+import com.boardcamp.metrics.Untimed;
 import com.boardcamp.models.GameModel;
 import com.boardcamp.repositories.GameRepository;
+import com.boardcamp.validators.GameValidator;
 
 @Service
 public class GameService {
+    public static final int DEFAULT_SEARCH_SIZE = 20;
+    public static final int MAX_SEARCH_SIZE = 100;
+
      private final GameRepository repository;
+     private final GameAvailabilityIndex availabilityIndex;
+     private final GameSearchIndex searchIndex;
+     private final GameCatalogSnapshot catalogSnapshot;
 
-    public GameService(GameRepository repository) {
+    public GameService(GameRepository repository, GameAvailabilityIndex availabilityIndex,
+            GameSearchIndex searchIndex, GameCatalogSnapshot catalogSnapshot) {
         this.repository = repository;
+        this.availabilityIndex = availabilityIndex;
+        this.searchIndex = searchIndex;
+        this.catalogSnapshot = catalogSnapshot;
     }
 
-    public List<GameModel> listGames() {
-        return repository.findAll();
+    // Catálogo já serializado para o GET /games; não consulta o banco
+    @Untimed
+    public GameCatalogSnapshot.Snapshot catalogSnapshot() {
+        return catalogSnapshot.current();
     }
 
-    public GameModel addGame(GameDTO dto) {
-        if (dto.getName() == null || dto.getName().isBlank())
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nome é obrigatório");
+    public List<GameResponseDTO> listAvailableGames() {
+        List<Long> ids = Arrays.stream(availabilityIndex.availableGameIds()).boxed().toList();
+        return ids.isEmpty() ? List.of() : repository.findViewsByIdIn(ids);
+    }
 
-        if (dto.getImage() == null)
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "URL da imagem é obrigatória");
+    // Busca no índice em memória; sem q devolve o catálogo filtrado por preço e disponibilidade, em ordem de nome
+    public List<GameResponseDTO> searchGames(String query, Integer minPrice, Integer maxPrice, Boolean available,
+            Integer requestedLimit) {
+        int limit = requestedLimit == null ? DEFAULT_SEARCH_SIZE : requestedLimit;
+        if (limit <= 0 || limit > MAX_SEARCH_SIZE)
+            throw ErrorCode.INVALID_LIMIT.exception();
 
-        if (!dto.getImage().startsWith("http"))
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "URL da imagem inválida");
+        if ((minPrice != null && minPrice < 0) || (maxPrice != null && maxPrice < 0)
+                || (minPrice != null && maxPrice != null && minPrice > maxPrice))
+            throw ErrorCode.INVALID_PRICE.exception();
 
-        if (dto.getStockTotal() == null || dto.getStockTotal() <= 0)
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Estoque inválido");
+        return searchIndex.search(query, minPrice, maxPrice, Boolean.TRUE.equals(available), limit);
+    }
 
-        if (dto.getPricePerDay() == null || dto.getPricePerDay() <= 0)
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Preço inválido");
+    public GameModel addGame(GameDTO dto) {
+        ErrorCode error = GameValidator.validate(dto);
+        if (error != null)
+            throw error.exception();
 
         if (repository.existsByName(dto.getName()))
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Jogo já existe");
+            throw ErrorCode.GAME_EXISTS.exception();
 
         GameModel game = new GameModel(null, dto.getName(), dto.getImage(), dto.getStockTotal(), dto.getPricePerDay());
-        return repository.save(game);
+        GameModel saved;
+        try {
+            saved = repository.save(game);
+        } catch (DataIntegrityViolationException e) {
+            // Cadastro concorrente com o mesmo nome barrado pelo índice único ux_games_name
+            throw ErrorCode.GAME_EXISTS.exception();
+        }
+        TransactionHooks.afterCommit(() -> {
+            availabilityIndex.register(saved.getId(), saved.getStockTotal());
+            searchIndex.register(saved);
+            // Snapshot novo do GET /games junto com a versão do catálogo
+            catalogSnapshot.add(saved);
+        });
+        return saved;
     }
 }
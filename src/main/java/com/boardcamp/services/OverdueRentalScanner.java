@@ -0,0 +1,77 @@
+package com.boardcamp.services;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.models.RentalModel;
+import com.boardcamp.repositories.RentalRepository;
+
+@Service
+public class OverdueRentalScanner {
+    public static final int CHUNK_SIZE = 500;
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueRentalScanner.class);
+
+    private final RentalRepository rentalRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public OverdueRentalScanner(RentalRepository rentalRepository, TransactionTemplate transactionTemplate) {
+        this.rentalRepository = rentalRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(cron = "${rentals.overdue.scan-cron}")
+    public void scheduledScan() {
+        scan(LocalDate.now());
+    }
+
+    // Incremental: só visita aluguéis vencidos cuja multa ainda não foi atualizada para o dia
+    public int scan(LocalDate day) {
+        int backfilled = processInChunks(
+                after -> rentalRepository.findByReturnDateIsNullAndExpectedReturnDateIsNullAndIdGreaterThanOrderById(
+                        after, Limit.of(CHUNK_SIZE)),
+                rental -> rental.setExpectedReturnDate(
+                        RentalModel.expectedReturnDate(rental.getRentDate(), rental.getDaysRented())));
+        if (backfilled > 0) {
+            logger.info("Data prevista de devolução preenchida para {} aluguéis em aberto", backfilled);
+        }
+
+        int accrued = processInChunks(
+                after -> rentalRepository.findOverdueNotAccruedOn(day, after, Limit.of(CHUNK_SIZE)),
+                rental -> {
+                    rental.setAccruedFee(RentalService.delayFee(rental.getExpectedReturnDate(), day,
+                            rental.getGame().getPricePerDay()));
+                    rental.setFeeAccruedOn(day);
+                });
+        logger.info("Multa atualizada para {} aluguéis em atraso até {}", accrued, day);
+        return accrued;
+    }
+
+    // Um lote por transação, percorrido por id, para não segurar locks nem o contexto de persistência
+    private int processInChunks(LongFunction<List<RentalModel>> loader, Consumer<RentalModel> update) {
+        int processed = 0;
+        long after = 0;
+        while (true) {
+            long cursor = after;
+            List<RentalModel> chunk = transactionTemplate.execute(status -> {
+                List<RentalModel> rentals = loader.apply(cursor);
+                rentals.forEach(update);
+                return rentals;
+            });
+            if (chunk.isEmpty()) {
+                return processed;
+            }
+            processed += chunk.size();
+            after = chunk.get(chunk.size() - 1).getId();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.boardcamp.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.events.RentalEvent;
+import com.boardcamp.events.RentalEventPipeline;
+import com.boardcamp.events.RentalOutboxSink;
+import com.boardcamp.models.RentalOutboxModel;
+import com.boardcamp.repositories.RentalOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Entrega o rental_outbox ao {@link RentalOutboxSink} e aos consumidores locais do {@link RentalEventPipeline}. Cada
+ * lote é uma transação: trava as linhas mais antigas com SKIP LOCKED, envia, enfileira no pipeline e apaga. Várias
+ * instâncias dividem o trabalho sem esperar umas pelas outras; se o envio falhar a transação volta e o lote é
+ * reenviado na próxima rodada (pelo menos uma vez). Com as filas do pipeline cheias a rodada para antes de enviar e
+ * as linhas esperam no outbox.
+ * Métricas: boardcamp.rental.outbox.delivered (vazão), .batch (tempo de envio), .failed, .deferred (rodadas paradas
+ * pelo pipeline) e .lag (idade, em segundos, do evento mais antigo ainda não entregue).
+ */
+@Service
+public class RentalOutboxRelay {
+    public static final String METRIC_PREFIX = "boardcamp.rental.outbox";
+
+    private static final Logger logger = LoggerFactory.getLogger(RentalOutboxRelay.class);
+
+    private final RentalOutboxRepository repository;
+    private final RentalOutboxSink sink;
+    private final RentalEventPipeline pipeline;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter deferred;
+    private final Timer batches;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public RentalOutboxRelay(RentalOutboxRepository repository, RentalOutboxSink sink, RentalEventPipeline pipeline,
+            TransactionTemplate transactionTemplate, MeterRegistry registry,
+            @Value("${rentals.outbox.batch-size}") int batchSize,
+            @Value("${rentals.outbox.max-batches-per-run}") int maxBatchesPerRun) {
+        if (batchSize > pipeline.capacity()) {
+            throw new IllegalStateException("rentals.outbox.batch-size maior que rentals.events.queue-capacity: "
+                    + "nenhum lote caberia nas filas do pipeline");
+        }
+        this.repository = repository;
+        this.sink = sink;
+        this.pipeline = pipeline;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.delivered = registry.counter(METRIC_PREFIX + ".delivered");
+        this.failed = registry.counter(METRIC_PREFIX + ".failed");
+        this.deferred = registry.counter(METRIC_PREFIX + ".deferred");
+        this.batches = registry.timer(METRIC_PREFIX + ".batch");
+        registry.gauge(METRIC_PREFIX + ".lag", lagMillis, lag -> lag.get() / 1000.0);
+    }
+
+    @Scheduled(fixedDelayString = "${rentals.outbox.relay-interval-ms}")
+    public void scheduledRelay() {
+        relay();
+    }
+
+    // Esvazia o outbox lote a lote; para no primeiro lote incompleto, na primeira falha, com o pipeline cheio ou
+    // depois de max-batches-per-run lotes, para um acúmulo não ocupar a thread de agendamento que o flush dos
+    // agregados, a varredura de atrasos e a fusão do índice de clientes também usam
+    public int relay() {
+        int total = 0;
+        try {
+            int sent;
+            int batchesRun = 0;
+            do {
+                sent = transactionTemplate.execute(status -> relayBatch());
+                total += sent;
+            } while (sent == batchSize && ++batchesRun < maxBatchesPerRun);
+        } catch (RuntimeException e) {
+            failed.increment();
+            logger.warn("Entrega do outbox de aluguéis adiada: {}", e.getMessage());
+        }
+        updateLag();
+        if (total > 0) {
+            logger.debug("{} eventos do outbox de aluguéis entregues", total);
+        }
+        return total;
+    }
+
+    private int relayBatch() {
+        List<RentalOutboxModel> claimed = repository.claimBatch(batchSize);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        if (!pipeline.hasRoomFor(claimed.size())) {
+            deferred.increment();
+            logger.debug("Filas do pipeline de eventos cheias: {} eventos ficam no outbox", claimed.size());
+            return 0;
+        }
+        batches.record(() -> sink.send(claimed));
+        List<RentalEvent> events = claimed.stream().map(RentalOutboxModel::toEvent).toList();
+        if (!pipeline.offer(events)) {
+            // Outra rodada ocupou o espaço entre a consulta e o envio: volta tudo e o sink recebe de novo depois
+            throw new IllegalStateException("filas do pipeline de eventos cheias");
+        }
+        repository.deleteAllInBatch(claimed);
+        delivered.increment(claimed.size());
+        return claimed.size();
+    }
+
+    private void updateLag() {
+        Instant oldest = repository.findOldestOccurredAt();
+        lagMillis.set(oldest == null ? 0 : Math.max(Duration.between(oldest, Instant.now()).toMillis(), 0));
+    }
+
+    public Duration lag() {
+        return Duration.ofMillis(lagMillis.get());
+    }
+}
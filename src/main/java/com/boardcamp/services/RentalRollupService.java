@@ -0,0 +1,236 @@
+package com.boardcamp.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.models.RentalDailyRollupModel;
+import com.boardcamp.models.RentalModel;
+import com.boardcamp.repositories.RentalDailyRollupRepository;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Mantém rental_daily_rollup a partir dos eventos de aluguel. As requisições só acumulam deltas em memória depois
+ * do commit; o agendamento descarrega os deltas em lote, uma linha por jogo e dia tocados desde a última descarga.
+ * Deltas pendentes se perdem se o processo cair: {@link #rebuild()} recalcula tudo a partir de rental, com as demais
+ * instâncias paradas.
+ */
+@Service
+public class RentalRollupService {
+    private static final Logger logger = LoggerFactory.getLogger(RentalRollupService.class);
+
+    private final RentalDailyRollupRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Map<RentalDailyRollupModel.Key, Delta> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Leitura: do beforeCommit de um aluguel até o registro do delta. Escrita: a reconstrução, que assim nunca
+    // vê um aluguel confirmado com o delta ainda por registrar
+    private final ReentrantReadWriteLock commits = new ReentrantReadWriteLock();
+
+    public RentalRollupService(RentalDailyRollupRepository repository, TransactionTemplate transactionTemplate,
+            EntityManager entityManager) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+    }
+
+    public void rentalOpened(RentalModel rental) {
+        Long gameId = rental.getGame().getId();
+        LocalDate day = rental.getRentDate();
+        Delta delta = new Delta(1, 0, amount(rental.getOriginalPrice()), 0);
+        afterCommit(() -> record(gameId, day, delta));
+    }
+
+    public void rentalReturned(RentalModel rental) {
+        Long gameId = rental.getGame().getId();
+        LocalDate day = rental.getReturnDate();
+        Delta delta = new Delta(0, 1, 0, amount(rental.getDelayFee()));
+        afterCommit(() -> record(gameId, day, delta));
+    }
+
+    // Só aluguéis finalizados podem ser removidos: desfaz a abertura e a devolução
+    public void rentalDeleted(RentalModel rental) {
+        Long gameId = rental.getGame().getId();
+        LocalDate rentDay = rental.getRentDate();
+        LocalDate returnDay = rental.getReturnDate();
+        Delta opened = new Delta(-1, 0, -amount(rental.getOriginalPrice()), 0);
+        Delta returned = new Delta(0, -1, 0, -amount(rental.getDelayFee()));
+        afterCommit(() -> {
+            record(gameId, rentDay, opened);
+            record(gameId, returnDay, returned);
+        });
+    }
+
+    // Um CommitHook por transação, com todos os deltas dela; fora de transação registra na hora
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commits.readLock().lock();
+            try {
+                action.run();
+            } finally {
+                commits.readLock().unlock();
+            }
+            return;
+        }
+        CommitHook hook = (CommitHook) TransactionSynchronizationManager.getResource(this);
+        if (hook == null) {
+            hook = new CommitHook();
+            TransactionSynchronizationManager.bindResource(this, hook);
+            TransactionSynchronizationManager.registerSynchronization(hook);
+        }
+        hook.actions.add(action);
+    }
+
+    private static long amount(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private void record(Long gameId, LocalDate day, Delta delta) {
+        pending.merge(new RentalDailyRollupModel.Key(gameId, day), delta, Delta::plus);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${rentals.rollup.flush-interval-ms}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public int flush() {
+        flushLock.lock();
+        try {
+            return drainAndApply();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int drainAndApply() {
+        // remove é atômico por chave: um delta que chega depois fica para a próxima descarga, nunca se perde
+        List<Map.Entry<RentalDailyRollupModel.Key, Delta>> drained = new ArrayList<>();
+        for (RentalDailyRollupModel.Key key : pending.keySet()) {
+            Delta delta = pending.remove(key);
+            if (delta != null && !delta.isEmpty()) {
+                drained.add(Map.entry(key, delta));
+            }
+        }
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(drained));
+        } catch (RuntimeException e) {
+            // Banco indisponível ou outra instância criou a mesma linha entre o UPDATE e o INSERT:
+            // devolve os deltas para a próxima descarga
+            drained.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Delta::plus));
+            logger.warn("Descarga dos agregados diários adiada: {}", e.getMessage());
+            return 0;
+        }
+        logger.debug("{} agregados diários atualizados", drained.size());
+        return drained.size();
+    }
+
+    private void apply(List<Map.Entry<RentalDailyRollupModel.Key, Delta>> drained) {
+        List<RentalDailyRollupModel> missing = new ArrayList<>();
+        for (Map.Entry<RentalDailyRollupModel.Key, Delta> entry : drained) {
+            RentalDailyRollupModel.Key key = entry.getKey();
+            Delta delta = entry.getValue();
+            int updated = repository.increment(key.getGameId(), key.getDay(), delta.opened(), delta.returned(),
+                    delta.revenue(), delta.delayFees());
+            if (updated == 0) {
+                missing.add(new RentalDailyRollupModel(key.getGameId(), key.getDay(), delta.opened(),
+                        delta.returned(), delta.revenue(), delta.delayFees()));
+            }
+        }
+        // Persiste as linhas novas só depois dos UPDATEs para os INSERTs saírem no mesmo lote JDBC
+        missing.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Recalcula tudo a partir de rental. Com o lock de escrita, os aluguéis já confirmados registraram seus deltas
+     * (que a consulta também vê, então são descartados) e os próximos só confirmam depois da consulta. Os commits de
+     * aluguel esperam enquanto a reconstrução roda. O lock é pedido dentro da transação, com a conexão já em mãos:
+     * aluguéis parados no beforeCommit seguram conexões do pool.
+     * <p>
+     * Só é exato nesta instância: os deltas pendentes de outra, de aluguéis que a consulta já contou, seriam somados
+     * de novo na próxima descarga dela. Com mais de uma instância, as outras precisam estar paradas (o
+     * {@code @PreDestroy} descarrega os deltas delas) antes de chamar a reconstrução.
+     */
+    public int rebuild() {
+        flushLock.lock();
+        try {
+            Integer rows = transactionTemplate.execute(status -> {
+                commits.writeLock().lock();
+                try {
+                    pending.clear();
+                    repository.deleteAllRows();
+                    return repository.insertFromRentals();
+                } finally {
+                    commits.writeLock().unlock();
+                }
+            });
+            logger.info("Agregados diários reconstruídos: {} linhas", rows);
+            return rows == null ? 0 : rows;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private final class CommitHook implements TransactionSynchronization {
+        private final List<Runnable> actions = new ArrayList<>(1);
+        private boolean locked;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commits.readLock().lock();
+            locked = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            actions.forEach(Runnable::run);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(RentalRollupService.this);
+            if (locked) {
+                locked = false;
+                commits.readLock().unlock();
+            }
+        }
+    }
+
+    private record Delta(int opened, int returned, long revenue, long delayFees) {
+
+        Delta plus(Delta other) {
+            return new Delta(opened + other.opened, returned + other.returned, revenue + other.revenue,
+                    delayFees + other.delayFees);
+        }
+
+        boolean isEmpty() {
+            return opened == 0 && returned == 0 && revenue == 0 && delayFees == 0;
+        }
+    }
+}
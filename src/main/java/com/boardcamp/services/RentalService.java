@@ -2,90 +2,308 @@ package com.boardcamp.services;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.springframework.http.HttpStatus;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.boardcamp.dtos.CustomerResponseDTO;
+import com.boardcamp.dtos.GameResponseDTO;
 import com.boardcamp.dtos.RentalDTO;
+import com.boardcamp.dtos.RentalFilterDTO;
+import com.boardcamp.dtos.RentalPageDTO;
+import com.boardcamp.dtos.RentalResponseDTO;
+import com.boardcamp.events.RentalEvent;
+import com.boardcamp.exceptions.ErrorCode;
+import com.boardcamp.metrics.Untimed;
 import com.boardcamp.models.CustomerModel;
 import com.boardcamp.models.GameModel;
 import com.boardcamp.models.RentalModel;
+import com.boardcamp.models.RentalOutboxModel;
 import com.boardcamp.repositories.CustomerRepository;
 import com.boardcamp.repositories.GameRepository;
+import com.boardcamp.repositories.RentalOutboxRepository;
 import com.boardcamp.repositories.RentalRepository;
+import com.boardcamp.repositories.RentalSpecifications;
+
+import jakarta.persistence.EntityManager;
 
 @Service
 public class RentalService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BATCH_SIZE = 1000;
+    public static final String EXPAND_CUSTOMER = "customer";
+    public static final String EXPAND_GAME = "game";
+
     private final RentalRepository rentalRepository;
     private final CustomerRepository customerRepository;
     private final GameRepository gameRepository;
+    private final StockService stockService;
+    private final GameAvailabilityIndex availabilityIndex;
+    private final RentalRollupService rollupService;
+    private final RentalOutboxRepository outboxRepository;
+    private final EntityManager entityManager;
 
-    public RentalService(RentalRepository rentalRepository, CustomerRepository customerRepository, GameRepository gameRepository) {
+    public RentalService(RentalRepository rentalRepository, CustomerRepository customerRepository,
+            GameRepository gameRepository, StockService stockService, GameAvailabilityIndex availabilityIndex,
+            RentalRollupService rollupService, RentalOutboxRepository outboxRepository, EntityManager entityManager) {
         this.rentalRepository = rentalRepository;
         this.customerRepository = customerRepository;
         this.gameRepository = gameRepository;
+        this.stockService = stockService;
+        this.availabilityIndex = availabilityIndex;
+        this.rollupService = rollupService;
+        this.outboxRepository = outboxRepository;
+        this.entityManager = entityManager;
+    }
+
+    public RentalPageDTO listRentals(RentalFilterDTO filter) {
+        Specification<RentalModel> spec = Specification.where(RentalSpecifications.idGreaterThan(filter.getCursor()))
+                .and(RentalSpecifications.hasCustomer(filter.getCustomerId()))
+                .and(RentalSpecifications.hasGame(filter.getGameId()))
+                .and(RentalSpecifications.isOpen(parseStatus(filter.getStatus())))
+                .and(RentalSpecifications.rentedFrom(filter.getStartDate()))
+                .and(RentalSpecifications.rentedUntil(filter.getEndDate()));
+        return findPage(spec, filter.getLimit(), filter.getExpand());
+    }
+
+    public RentalPageDTO listOverdueRentals(Long cursor, Integer limit, String expand) {
+        Specification<RentalModel> spec = Specification.where(RentalSpecifications.idGreaterThan(cursor))
+                .and(RentalSpecifications.overdueOn(LocalDate.now()));
+        return findPage(spec, limit, expand);
+    }
+
+    private RentalPageDTO findPage(Specification<RentalModel> spec, Integer requestedLimit, String expand) {
+        int limit = requestedLimit == null ? DEFAULT_PAGE_SIZE : requestedLimit;
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw ErrorCode.INVALID_LIMIT.exception();
+        }
+        Set<String> expanded = parseExpand(expand);
+
+        // Busca um registro a mais para saber se existe próxima página sem precisar de COUNT
+        List<RentalResponseDTO> rentals = rentalRepository.findViews(spec, expanded.contains(EXPAND_CUSTOMER),
+                expanded.contains(EXPAND_GAME), limit + 1);
+
+        Long nextCursor = null;
+        if (rentals.size() > limit) {
+            rentals = rentals.subList(0, limit);
+            nextCursor = rentals.get(limit - 1).id();
+        }
+        return new RentalPageDTO(rentals, nextCursor);
     }
 
-    public List<RentalModel> listRentals() {
-        return rentalRepository.findAll();
+    @Transactional(readOnly = true)
+    public void exportRentals(LocalDate since, Consumer<RentalModel> sink) {
+        try (Stream<RentalModel> rentals = since == null
+                ? rentalRepository.streamAll()
+                : rentalRepository.streamChangedSince(since)) {
+            long[] exported = {0};
+            rentals.forEach(rental -> {
+                sink.accept(rental);
+                // Descarta as entidades já enviadas para o contexto de persistência não crescer com o cursor
+                if (++exported[0] % RentalRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+    }
+
+    private Set<String> parseExpand(String expand) {
+        if (expand == null || expand.isBlank()) {
+            return Set.of();
+        }
+        Set<String> expanded = new HashSet<>();
+        for (String field : expand.split(",")) {
+            String name = field.trim().toLowerCase();
+            if (!name.equals(EXPAND_CUSTOMER) && !name.equals(EXPAND_GAME)) {
+                throw ErrorCode.INVALID_EXPAND.exception();
+            }
+            expanded.add(name);
+        }
+        return expanded;
+    }
+
+    private Boolean parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        if (status.equalsIgnoreCase("open")) {
+            return true;
+        }
+        if (status.equalsIgnoreCase("closed")) {
+            return false;
+        }
+        throw ErrorCode.INVALID_STATUS.exception();
     }
 
+    @Transactional
     public RentalModel createRental(RentalDTO dto) {
-        if (dto.getCustomerId() == null || dto.getGameId() == null || dto.getDaysRented() == null || dto.getDaysRented() <= 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Dados inválidos");
+        validate(dto);
+
+        // Sem atalho pelo GameAvailabilityIndex: ele é local da instância e pode estar defasado, só o UPDATE
+        // condicional do reserve recusa por falta de estoque
+        CustomerResponseDTO customer = customerRepository.findViewById(dto.getCustomerId())
+                .orElseThrow(ErrorCode.CUSTOMER_NOT_FOUND::exception);
+
+        GameResponseDTO game = gameRepository.findViewById(dto.getGameId())
+                .orElseThrow(ErrorCode.GAME_NOT_FOUND::exception);
+
+        if (!stockService.reserve(game.id())) {
+            throw ErrorCode.NO_STOCK.exception();
+        }
+
+        // Referências só com o id para as chaves estrangeiras: nenhum SELECT de cliente ou jogo
+        RentalModel saved = rentalRepository.save(newRental(customerRepository.getReferenceById(customer.id()),
+                gameRepository.getReferenceById(game.id()), dto.getDaysRented(), game.pricePerDay()));
+        TransactionHooks.afterCommit(() -> availabilityIndex.rentalOpened(game.id()));
+        rollupService.rentalOpened(saved);
+        record(RentalEvent.of(RentalEvent.Type.OPENED, saved));
+        return saved;
+    }
+
+    @Transactional
+    public List<RentalModel> createRentals(List<RentalDTO> dtos) {
+        if (dtos == null || dtos.isEmpty() || dtos.size() > MAX_BATCH_SIZE) {
+            throw ErrorCode.INVALID_BATCH.exception();
+        }
+        for (RentalDTO dto : dtos) {
+            // [{...}, null] no corpo chega como elemento nulo
+            if (dto == null) {
+                throw ErrorCode.INVALID_BATCH.exception();
+            }
+            validate(dto);
         }
 
-        CustomerModel customer = customerRepository.findById(dto.getCustomerId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cliente não encontrado"));
+        Map<Long, CustomerModel> customers = indexById(customerRepository.findAllById(
+                dtos.stream().map(RentalDTO::getCustomerId).collect(Collectors.toSet())), CustomerModel::getId);
+        Map<Long, GameModel> games = indexById(gameRepository.findAllById(
+                dtos.stream().map(RentalDTO::getGameId).collect(Collectors.toSet())), GameModel::getId);
 
-        GameModel game = gameRepository.findById(dto.getGameId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Jogo não encontrado"));
+        // TreeMap: reserva sempre na mesma ordem de id para lotes concorrentes não travarem entre si
+        Map<Long, Integer> requestedPerGame = new TreeMap<>();
+        for (RentalDTO dto : dtos) {
+            if (!customers.containsKey(dto.getCustomerId())) {
+                throw ErrorCode.CUSTOMER_NOT_FOUND.exception();
+            }
+            if (!games.containsKey(dto.getGameId())) {
+                throw ErrorCode.GAME_NOT_FOUND.exception();
+            }
+            requestedPerGame.merge(dto.getGameId(), 1, Integer::sum);
+        }
 
-        long rentedGames = rentalRepository.countByGameAndReturnDateIsNull(game);
-        if (rentedGames >= game.getStockTotal()) {
-            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Sem estoque disponível");
+        for (Map.Entry<Long, Integer> requested : requestedPerGame.entrySet()) {
+            if (!stockService.reserve(requested.getKey(), requested.getValue())) {
+                throw ErrorCode.NO_STOCK.exception();
+            }
         }
 
+        List<RentalModel> rentals = dtos.stream()
+                .map(dto -> {
+                    GameModel game = games.get(dto.getGameId());
+                    return newRental(customers.get(dto.getCustomerId()), game, dto.getDaysRented(), game.getPricePerDay());
+                })
+                .toList();
+        List<RentalModel> saved = rentalRepository.saveAll(rentals);
+        TransactionHooks.afterCommit(() -> requestedPerGame.forEach(availabilityIndex::rentalsOpened));
+        saved.forEach(rollupService::rentalOpened);
+        outboxRepository.saveAll(saved.stream()
+                .map(rental -> RentalOutboxModel.from(RentalEvent.of(RentalEvent.Type.OPENED, rental)))
+                .toList());
+        return saved;
+    }
+
+    private void validate(RentalDTO dto) {
+        if (dto.getCustomerId() == null || dto.getGameId() == null || dto.getDaysRented() == null || dto.getDaysRented() <= 0) {
+            throw ErrorCode.INVALID_DATA.exception();
+        }
+    }
+
+    private RentalModel newRental(CustomerModel customer, GameModel game, Integer daysRented, int pricePerDay) {
         RentalModel rental = new RentalModel();
         rental.setCustomer(customer);
         rental.setGame(game);
-        rental.setDaysRented(dto.getDaysRented());
+        rental.setDaysRented(daysRented);
         rental.setRentDate(LocalDate.now());
-        rental.setOriginalPrice(dto.getDaysRented() * game.getPricePerDay());
+        rental.setOriginalPrice(daysRented * pricePerDay);
         rental.setReturnDate(null);
         rental.setDelayFee(0);
+        return rental;
+    }
 
-        return rentalRepository.save(rental);
+    private static <T> Map<Long, T> indexById(Collection<T> entities, Function<T, Long> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
     }
 
+    // Resposta dos POSTs no formato do GET /rentals?expand=customer,game, montada das views em cache: os proxies
+    // de cliente e jogo do aluguel recém-criado não são inicializados
+    @Untimed
+    public RentalResponseDTO expanded(RentalModel rental) {
+        CustomerResponseDTO customer = customerRepository.findViewById(rental.getCustomer().getId()).orElse(null);
+        GameResponseDTO game = gameRepository.findViewById(rental.getGame().getId()).orElse(null);
+        return RentalResponseDTO.from(rental, customer, game);
+    }
+
+    @Transactional
     public RentalModel finalizeRental(Long id) {
-        RentalModel rental = rentalRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Aluguel não encontrado"));
+        RentalModel rental = rentalRepository.findWithCustomerAndGameById(id)
+                .orElseThrow(ErrorCode.RENTAL_NOT_FOUND::exception);
 
         if (rental.getReturnDate() != null) {
-            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Aluguel já finalizado");
+            throw ErrorCode.RENTAL_ALREADY_RETURNED.exception();
         }
 
         LocalDate today = LocalDate.now();
+        LocalDate expectedReturn = RentalModel.expectedReturnDate(rental.getRentDate(), rental.getDaysRented());
+        int fee = delayFee(expectedReturn, today, rental.getGame().getPricePerDay());
+        if (rentalRepository.close(id, today, fee) == 0) {
+            throw ErrorCode.RENTAL_ALREADY_RETURNED.exception();
+        }
+        // A entidade já saiu do contexto com o UPDATE: os campos abaixo só refletem o que foi gravado
         rental.setReturnDate(today);
+        rental.setDelayFee(fee);
+
+        Long gameId = rental.getGame().getId();
+        stockService.release(gameId);
+        TransactionHooks.afterCommit(() -> availabilityIndex.rentalClosed(gameId));
+        rollupService.rentalReturned(rental);
+        record(RentalEvent.of(RentalEvent.Type.RETURNED, rental));
 
-        LocalDate expectedReturn = rental.getRentDate().plusDays(rental.getDaysRented());
-        long delayDays = ChronoUnit.DAYS.between(expectedReturn, today);
-        rental.setDelayFee((int) Math.max(delayDays, 0) * rental.getGame().getPricePerDay());
+        return rental;
+    }
 
-        return rentalRepository.save(rental);
+    static int delayFee(LocalDate expectedReturn, LocalDate day, int pricePerDay) {
+        long delayDays = ChronoUnit.DAYS.between(expectedReturn, day);
+        return (int) Math.max(delayDays, 0) * pricePerDay;
     }
 
+    @Transactional
     public void deleteRental(Long id) {
         RentalModel rental = rentalRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Aluguel não encontrado"));
+                .orElseThrow(ErrorCode.RENTAL_NOT_FOUND::exception);
 
         if (rental.getReturnDate() == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Aluguel não finalizado");
+            throw ErrorCode.RENTAL_NOT_RETURNED.exception();
         }
 
         rentalRepository.delete(rental);
+        rollupService.rentalDeleted(rental);
+        record(RentalEvent.of(RentalEvent.Type.DELETED, rental));
+    }
+
+    // Outbox na mesma transação da mudança. O RentalOutboxRelay entrega aos sistemas externos e ao pipeline de
+    // fidelidade, analytics e notificações: a requisição não espera por nenhum consumidor
+    private void record(RentalEvent event) {
+        outboxRepository.save(RentalOutboxModel.from(event));
     }
 }
@@ -0,0 +1,118 @@
+package com.boardcamp.services;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Service;
+
+import com.boardcamp.dtos.DailyRollupDTO;
+import com.boardcamp.dtos.RevenueReportDTO;
+import com.boardcamp.dtos.UtilizationReportDTO;
+import com.boardcamp.exceptions.ErrorCode;
+import com.boardcamp.repositories.RentalDailyRollupRepository;
+import com.boardcamp.repositories.RentalRepository;
+import com.boardcamp.repositories.RentalTotals;
+
+@Service
+public class ReportService {
+    public static final String GROUP_BY_GAME = "game";
+    public static final String GROUP_BY_CUSTOMER = "customer";
+    public static final String GROUP_BY_DAY = "day";
+    public static final String GROUP_BY_WEEK = "week";
+    public static final String GROUP_BY_MONTH = "month";
+
+    private final RentalRepository rentalRepository;
+    private final RentalDailyRollupRepository rollupRepository;
+
+    public ReportService(RentalRepository rentalRepository, RentalDailyRollupRepository rollupRepository) {
+        this.rentalRepository = rentalRepository;
+        this.rollupRepository = rollupRepository;
+    }
+
+    // Lê os agregados diários: uma linha por jogo e dia, sem varrer rental
+    public List<DailyRollupDTO> daily(LocalDate from, LocalDate to, Long gameId) {
+        validatePeriod(from, to);
+        return gameId == null ? rollupRepository.sumByDay(from, to) : rollupRepository.findByGame(gameId, from, to);
+    }
+
+    public List<RevenueReportDTO> revenue(LocalDate from, LocalDate to, String groupBy) {
+        return totals(from, to, groupBy).stream()
+                .map(totals -> new RevenueReportDTO(key(totals, groupBy), totals.name(), totals.rentals(),
+                        totals.originalPrice(), totals.delayFee(), totals.revenue()))
+                .toList();
+    }
+
+    public List<UtilizationReportDTO> utilization(LocalDate from, LocalDate to, String groupBy) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        return totals(from, to, groupBy).stream()
+                .map(totals -> new UtilizationReportDTO(key(totals, groupBy), totals.name(), totals.rentals(),
+                        totals.rentalDays(), occupancy(totals, days)))
+                .toList();
+    }
+
+    private List<RentalTotals> totals(LocalDate from, LocalDate to, String groupBy) {
+        validatePeriod(from, to);
+        String grouping = groupBy == null ? GROUP_BY_GAME : groupBy;
+        return switch (grouping) {
+            case GROUP_BY_GAME -> rentalRepository.sumByGame(from, to);
+            case GROUP_BY_CUSTOMER -> rentalRepository.sumByCustomer(from, to);
+            case GROUP_BY_DAY -> rentalRepository.sumByDay(from, to);
+            case GROUP_BY_WEEK -> rollUp(rentalRepository.sumByDay(from, to), ReportService::weekStart);
+            case GROUP_BY_MONTH -> rollUp(rentalRepository.sumByDay(from, to), day -> day.withDayOfMonth(1));
+            default -> throw ErrorCode.INVALID_GROUPING.exception();
+        };
+    }
+
+    private static void validatePeriod(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw ErrorCode.INVALID_PERIOD.exception();
+        }
+    }
+
+    // Os totais diários chegam ordenados por dia, então cada período é contíguo
+    private static List<RentalTotals> rollUp(List<RentalTotals> daily, Function<LocalDate, LocalDate> period) {
+        Map<LocalDate, RentalTotals> periods = new LinkedHashMap<>();
+        for (RentalTotals day : daily) {
+            periods.merge(period.apply(day.day()), day, (total, next) -> new RentalTotals(total.day(),
+                    total.rentals() + next.rentals(), total.originalPrice() + next.originalPrice(),
+                    total.delayFee() + next.delayFee(), total.rentalDays() + next.rentalDays()));
+        }
+        List<RentalTotals> result = new ArrayList<>(periods.size());
+        periods.forEach((start, total) -> result.add(new RentalTotals(start, total.rentals(), total.originalPrice(),
+                total.delayFee(), total.rentalDays())));
+        return result;
+    }
+
+    private static LocalDate weekStart(LocalDate day) {
+        return day.minusDays(day.getDayOfWeek().getValue() - 1L);
+    }
+
+    private static String key(RentalTotals totals, String groupBy) {
+        if (totals.day() == null) {
+            return String.valueOf(totals.id());
+        }
+        LocalDate day = totals.day();
+        if (GROUP_BY_WEEK.equals(groupBy)) {
+            return String.format("%d-W%02d", day.get(IsoFields.WEEK_BASED_YEAR),
+                    day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+        }
+        if (GROUP_BY_MONTH.equals(groupBy)) {
+            return YearMonth.from(day).toString();
+        }
+        return day.toString();
+    }
+
+    private static Double occupancy(RentalTotals totals, long days) {
+        if (totals.stockTotal() == null || totals.stockTotal() <= 0) {
+            return null;
+        }
+        return (double) totals.rentalDays() / (totals.stockTotal() * days);
+    }
+}
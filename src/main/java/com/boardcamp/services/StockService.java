@@ -0,0 +1,51 @@
+package com.boardcamp.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.boardcamp.repositories.GameRepository;
+
+@Service
+public class StockService {
+    private static final Logger logger = LoggerFactory.getLogger(StockService.class);
+
+    private final GameRepository gameRepository;
+
+    public StockService(GameRepository gameRepository) {
+        this.gameRepository = gameRepository;
+    }
+
+    // Reserva e devolução participam da transação do aluguel: se o aluguel não for gravado, o estoque volta
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean reserve(Long gameId) {
+        return reserve(gameId, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean reserve(Long gameId, int quantity) {
+        return gameRepository.reserveStock(gameId, quantity) == 1;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long gameId) {
+        if (gameRepository.releaseStock(gameId, 1) == 0) {
+            logger.warn("Estoque do jogo ID: {} já estava completo ao devolver um aluguel", gameId);
+        }
+    }
+
+    // A migração V1 já preenche os contadores antes da subida; aqui só sobram jogos gravados por uma instância
+    // antiga durante a troca de versão
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeMissingCounters() {
+        int initialized = gameRepository.initializeMissingStockCounters();
+        if (initialized > 0) {
+            logger.info("Contador de estoque inicializado para {} jogos", initialized);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.boardcamp.services;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Contador de versão por tabela, base das ETags de leitura. Os serviços incrementam depois do commit de cada
+ * escrita; os controllers leem a versão antes de consultar o banco, então a ETag de uma resposta nunca é mais nova
+ * que os dados dela. O prefixo muda a cada inicialização para ETags de antes do restart não casarem com o contador
+ * zerado. Como os índices de busca, vale para uma instância: escritas feitas por outra não incrementam este contador.
+ */
+@Component
+public class TableVersions {
+
+    public enum Table {
+        GAMES, CUSTOMERS
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Table, AtomicLong> versions = new EnumMap<>(Table.class);
+
+    public TableVersions() {
+        for (Table table : Table.values()) {
+            versions.put(table, new AtomicLong());
+        }
+    }
+
+    public long current(Table table) {
+        return versions.get(table).get();
+    }
+
+    public void bump(Table table) {
+        versions.get(table).incrementAndGet();
+    }
+
+    // ETag forte: a mesma versão sempre gera o mesmo corpo, byte a byte
+    public String etag(Table table) {
+        return "\"" + tag(table) + "\"";
+    }
+
+    // ETag de um registro: o id entra na tag para a ETag de um cliente não valer para outro, nem para um id que não
+    // existe (que precisa continuar respondendo 404)
+    public String etag(Table table, Object id) {
+        return "\"" + tag(table) + "-" + id + "\"";
+    }
+
+    private String tag(Table table) {
+        return table.name().toLowerCase() + "-" + epoch + "-" + current(table);
+    }
+}
@@ -0,0 +1,68 @@
+package com.boardcamp.validators;
+
+import com.boardcamp.dtos.CustomerDTO;
+import com.boardcamp.exceptions.ErrorCode;
+
+/**
+ * Única validação de cliente, usada no cadastro e na importação em lote. Percorre os caracteres direto na String:
+ * sem regex, sem cópia do texto e sem alocação.
+ */
+public final class CustomerValidator {
+    private static final int CPF_LENGTH = 11;
+
+    private CustomerValidator() {
+    }
+
+    // Retorna null quando o cliente é válido
+    public static ErrorCode validate(CustomerDTO dto) {
+        if (dto.getName() == null || dto.getName().isBlank())
+            return ErrorCode.NAME_REQUIRED;
+
+        if (!isValidCpf(dto.getCpf()))
+            return ErrorCode.INVALID_CPF;
+
+        if (!isDigits(dto.getPhone(), 10, 11))
+            return ErrorCode.INVALID_PHONE;
+
+        return null;
+    }
+
+    // 11 dígitos, os dois últimos conferidos pelo módulo 11; sequências repetidas (111.111.111-11) são recusadas
+    public static boolean isValidCpf(String cpf) {
+        if (!isDigits(cpf, CPF_LENGTH, CPF_LENGTH))
+            return false;
+
+        boolean repeated = true;
+        int first = 0;
+        int second = 0;
+        for (int i = 0; i < 9; i++) {
+            int digit = cpf.charAt(i) - '0';
+            repeated &= cpf.charAt(i) == cpf.charAt(0);
+            first += digit * (10 - i);
+            second += digit * (11 - i);
+        }
+        if (repeated)
+            return false;
+
+        int firstCheck = checkDigit(first);
+        second += firstCheck * 2;
+        return cpf.charAt(9) - '0' == firstCheck && cpf.charAt(10) - '0' == checkDigit(second);
+    }
+
+    private static int checkDigit(int sum) {
+        int rest = sum % 11;
+        return rest < 2 ? 0 : 11 - rest;
+    }
+
+    private static boolean isDigits(String value, int minLength, int maxLength) {
+        if (value == null || value.length() < minLength || value.length() > maxLength)
+            return false;
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9')
+                return false;
+        }
+        return true;
+    }
+}
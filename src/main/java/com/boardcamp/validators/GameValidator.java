@@ -0,0 +1,31 @@
+package com.boardcamp.validators;
+
+import com.boardcamp.dtos.GameDTO;
+import com.boardcamp.exceptions.ErrorCode;
+
+// Única validação de jogo: a entidade não repete as regras no persist
+public final class GameValidator {
+
+    private GameValidator() {
+    }
+
+    // Retorna null quando o jogo é válido
+    public static ErrorCode validate(GameDTO dto) {
+        if (dto.getName() == null || dto.getName().isBlank())
+            return ErrorCode.NAME_REQUIRED;
+
+        if (dto.getImage() == null)
+            return ErrorCode.IMAGE_REQUIRED;
+
+        if (!dto.getImage().startsWith("http"))
+            return ErrorCode.INVALID_IMAGE;
+
+        if (dto.getStockTotal() == null || dto.getStockTotal() <= 0)
+            return ErrorCode.INVALID_STOCK;
+
+        if (dto.getPricePerDay() == null || dto.getPricePerDay() <= 0)
+            return ErrorCode.INVALID_PRICE;
+
+        return null;
+    }
+}
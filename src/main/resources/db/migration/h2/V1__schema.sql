@@ -0,0 +1,33 @@
+CREATE SEQUENCE customers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE rental_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE games (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255),
+    image VARCHAR(255),
+    stock_total INTEGER CHECK (stock_total >= 1),
+    price_per_day INTEGER CHECK (price_per_day >= 1),
+    stock_available INTEGER,
+    version BIGINT
+);
+
+CREATE TABLE customers (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255),
+    phone VARCHAR(255),
+    cpf VARCHAR(255) UNIQUE
+);
+
+CREATE TABLE rental (
+    id BIGINT PRIMARY KEY,
+    customer_id BIGINT REFERENCES customers (id),
+    game_id BIGINT REFERENCES games (id),
+    rent_date DATE,
+    days_rented INTEGER,
+    return_date DATE,
+    original_price INTEGER,
+    delay_fee INTEGER,
+    expected_return_date DATE,
+    accrued_fee INTEGER,
+    fee_accrued_on DATE
+);
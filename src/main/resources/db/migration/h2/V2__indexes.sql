@@ -0,0 +1,12 @@
+-- O H2 não tem índices parciais: as versões do Postgres com WHERE return_date IS NULL viram compostas
+CREATE UNIQUE INDEX ux_games_name ON games (name);
+
+CREATE INDEX idx_rental_customer_id ON rental (customer_id, id);
+CREATE INDEX idx_rental_game_id ON rental (game_id, id);
+
+CREATE INDEX idx_rental_open_by_game ON rental (game_id, return_date);
+CREATE INDEX idx_rental_open ON rental (return_date, id);
+CREATE INDEX idx_rental_overdue ON rental (return_date, expected_return_date);
+
+CREATE INDEX idx_rental_rent_date ON rental (rent_date);
+CREATE INDEX idx_rental_return_date ON rental (return_date);
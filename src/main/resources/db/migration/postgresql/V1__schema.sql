@@ -0,0 +1,56 @@
+-- Esquema gerado até aqui pelo ddl-auto=update. Idempotente: bancos já existentes entram pelo
+-- baseline na versão 0 e esta migração só completa o que faltar.
+
+CREATE SEQUENCE IF NOT EXISTS customers_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS rental_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS games (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255),
+    image VARCHAR(255),
+    stock_total INTEGER CHECK (stock_total >= 1),
+    price_per_day INTEGER CHECK (price_per_day >= 1)
+);
+ALTER TABLE games ADD COLUMN IF NOT EXISTS stock_available INTEGER;
+ALTER TABLE games ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE games SET version = 0 WHERE version IS NULL;
+
+CREATE TABLE IF NOT EXISTS customers (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255),
+    phone VARCHAR(255),
+    cpf VARCHAR(255) UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS rental (
+    id BIGINT PRIMARY KEY,
+    customer_id BIGINT REFERENCES customers (id),
+    game_id BIGINT REFERENCES games (id),
+    rent_date DATE,
+    days_rented INTEGER,
+    return_date DATE,
+    original_price INTEGER,
+    delay_fee INTEGER
+);
+ALTER TABLE rental ADD COLUMN IF NOT EXISTS expected_return_date DATE;
+ALTER TABLE rental ADD COLUMN IF NOT EXISTS accrued_fee INTEGER;
+ALTER TABLE rental ADD COLUMN IF NOT EXISTS fee_accrued_on DATE;
+UPDATE rental SET expected_return_date = rent_date + days_rented WHERE expected_return_date IS NULL;
+
+-- Contador de estoque dos jogos cadastrados antes dele: total menos aluguéis em aberto. Feito aqui, antes do
+-- Tomcat aceitar requisições, para nenhum aluguel ser recusado por um contador ainda nulo
+UPDATE games SET stock_available = stock_total
+        - (SELECT COUNT(*) FROM rental r WHERE r.game_id = games.id AND r.return_date IS NULL)
+    WHERE stock_available IS NULL;
+
+-- Clientes e aluguéis usavam IDENTITY antes das sequências pooled (blocos de 50): leva as
+-- sequências para depois do maior id já gravado
+SELECT setval('customers_seq', GREATEST((SELECT last_value FROM customers_seq),
+        (SELECT COALESCE(MAX(id), 0) FROM customers) + 50));
+SELECT setval('rental_seq', GREATEST((SELECT last_value FROM rental_seq),
+        (SELECT COALESCE(MAX(id), 0) FROM rental) + 50));
+
+-- O nome do jogo só era checado pelo existsByName, sem garantia contra cadastros simultâneos, e a V2 cria o
+-- índice único: o jogo mais antigo fica com o nome e os repetidos ganham o id como sufixo ("Azul #42")
+UPDATE games SET name = LEFT(name, 255 - LENGTH(' #' || id)) || ' #' || id
+    WHERE name IS NOT NULL AND id NOT IN (SELECT MIN(id) FROM games WHERE name IS NOT NULL GROUP BY name);
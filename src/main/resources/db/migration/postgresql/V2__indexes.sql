@@ -0,0 +1,24 @@
+-- CONCURRENTLY não bloqueia as escritas enquanto os índices são construídos; o Flyway roda
+-- este arquivo fora de transação.
+
+-- Substituído pelo índice parcial idx_rental_overdue
+DROP INDEX CONCURRENTLY IF EXISTS idx_rental_open_expected_return;
+
+-- existsByName; nomes repetidos já renomeados na V1. Se uma tentativa anterior falhou aqui, o índice ficou
+-- INVALID e o IF NOT EXISTS o pularia
+DROP INDEX CONCURRENTLY IF EXISTS ux_games_name;
+CREATE UNIQUE INDEX CONCURRENTLY ux_games_name ON games (name);
+
+-- Filtros customerId/gameId da listagem, em ordem de id (cursor)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_rental_customer_id ON rental (customer_id, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_rental_game_id ON rental (game_id, id);
+
+-- Aluguéis em aberto: por jogo (countByGameAndReturnDateIsNull, resumo de estoque),
+-- status=open e atrasados (GET /rentals/overdue e varredura de multas)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_rental_open_by_game ON rental (game_id) WHERE return_date IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_rental_open ON rental (id) WHERE return_date IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_rental_overdue ON rental (expected_return_date) WHERE return_date IS NULL;
+
+-- Filtros de data e exportação incremental (rent_date >= :since OR return_date >= :since)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_rental_rent_date ON rental (rent_date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_rental_return_date ON rental (return_date);
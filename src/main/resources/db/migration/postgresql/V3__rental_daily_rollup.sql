@@ -0,0 +1,28 @@
+-- Dado derivado de rental: sem chave estrangeira para não travar a remoção de jogos; refeito por rebuild
+CREATE TABLE IF NOT EXISTS rental_daily_rollup (
+    game_id BIGINT NOT NULL,
+    rollup_day DATE NOT NULL,
+    rentals_opened INTEGER NOT NULL DEFAULT 0,
+    rentals_returned INTEGER NOT NULL DEFAULT 0,
+    revenue BIGINT NOT NULL DEFAULT 0,
+    delay_fees BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (game_id, rollup_day)
+);
+
+CREATE INDEX IF NOT EXISTS idx_rental_daily_rollup_day ON rental_daily_rollup (rollup_day);
+
+-- Carga inicial com o histórico existente; mesma consulta do RentalDailyRollupRepository.insertFromRentals
+DELETE FROM rental_daily_rollup;
+INSERT INTO rental_daily_rollup (game_id, rollup_day, rentals_opened, rentals_returned, revenue, delay_fees)
+SELECT game_id, event_day, SUM(opened), SUM(returned), SUM(revenue), SUM(delay_fee)
+FROM (
+    SELECT game_id, rent_date AS event_day, 1 AS opened, 0 AS returned, COALESCE(original_price, 0) AS revenue,
+        0 AS delay_fee
+    FROM rental
+    UNION ALL
+    SELECT game_id, return_date, 0, 1, 0, COALESCE(delay_fee, 0)
+    FROM rental
+    WHERE return_date IS NOT NULL
+) events
+WHERE game_id IS NOT NULL AND event_day IS NOT NULL
+GROUP BY game_id, event_day;
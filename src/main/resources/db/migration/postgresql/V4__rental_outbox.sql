@@ -0,0 +1,16 @@
+-- Eventos de aluguel gravados na mesma transação da mudança; o RentalOutboxRelay entrega e apaga em lotes
+CREATE SEQUENCE IF NOT EXISTS rental_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS rental_outbox (
+    id BIGINT PRIMARY KEY,
+    event_type VARCHAR(16) NOT NULL,
+    rental_id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    game_id BIGINT NOT NULL,
+    rent_date DATE,
+    days_rented INTEGER NOT NULL,
+    return_date DATE,
+    original_price INTEGER NOT NULL,
+    delay_fee INTEGER NOT NULL,
+    occurred_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
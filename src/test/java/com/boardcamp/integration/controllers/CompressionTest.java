@@ -0,0 +1,122 @@
+package com.boardcamp.integration.controllers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.boardcamp.models.CustomerModel;
+import com.boardcamp.models.GameModel;
+import com.boardcamp.models.RentalModel;
+import com.boardcamp.repositories.CustomerRepository;
+import com.boardcamp.repositories.GameRepository;
+import com.boardcamp.repositories.RentalRepository;
+import com.boardcamp.services.GameCatalogSnapshot;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Compressão acontece no Tomcat, fora do alcance do MockMvc: as requisições vão para o servidor de verdade
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class CompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameCatalogSnapshot catalogSnapshot;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        rentalRepository.deleteAll();
+        CustomerModel customer = customerRepository.findByCpf("44455566677");
+        if (customer == null) {
+            customer = customerRepository.save(
+                new CustomerModel(null, "Cliente Compressão", "11999999999", "44455566677"));
+        }
+        GameModel game = gameRepository.save(
+            new GameModel(null, "Jogo Compressão " + System.nanoTime(), "http://image.url", 100, 1500));
+        for (int i = 0; i < 50; i++) {
+            rentalRepository.save(new RentalModel(null, customer, game, LocalDate.now(), 3, null, 4500, 0));
+        }
+        catalogSnapshot.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rentalRepository.deleteAll();
+    }
+
+    @Test
+    void largeJsonResponse_IsGzippedWhenAccepted() throws Exception {
+        HttpResponse<byte[]> compressed = get("/rentals?expand=customer,game&limit=500", "gzip");
+        HttpResponse<byte[]> plain = get("/rentals?expand=customer,game&limit=500", null);
+
+        assertEquals(200, compressed.statusCode());
+        assertEquals("gzip", compressed.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(plain.headers().firstValue("Content-Encoding").isEmpty());
+
+        byte[] inflated = gunzip(compressed.body());
+        assertEquals(objectMapper.readTree(plain.body()), objectMapper.readTree(inflated));
+        assertTrue(compressed.body().length < plain.body().length / 4);
+    }
+
+    @Test
+    void smallResponse_IsNotCompressed() throws Exception {
+        HttpResponse<byte[]> response = get("/customers/999999999", "gzip");
+
+        assertEquals(404, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+    }
+
+    @Test
+    void preCompressedCatalog_IsNotCompressedTwice() throws Exception {
+        HttpResponse<byte[]> response = get("/games", "gzip");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(1, response.headers().allValues("Content-Encoding").size());
+        JsonNode games = objectMapper.readTree(gunzip(response.body()));
+        assertTrue(games.isArray());
+    }
+
+    private HttpResponse<byte[]> get(String path, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
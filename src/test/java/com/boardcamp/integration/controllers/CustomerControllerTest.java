@@ -1,21 +1,34 @@
 package com.boardcamp.integration.controllers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.util.Collections;
+
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.boardcamp.dtos.CustomerDTO;
+import com.boardcamp.dtos.CustomerImportReportDTO;
+import com.boardcamp.dtos.CustomerResponseDTO;
 import com.boardcamp.models.CustomerModel;
 import com.boardcamp.repositories.CustomerRepository;
+import com.boardcamp.services.CustomerSearchIndex;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -31,15 +44,22 @@ public class CustomerControllerTest {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CustomerSearchIndex searchIndex;
+
     private CustomerDTO validCustomerDTO;
 
     @BeforeEach
     void setUp() {
        
         customerRepository.deleteAll();
+        searchIndex.warmUp();
 
        
-        validCustomerDTO = new CustomerDTO("Teste da Silva", "11999999999", "12345678901");
+        validCustomerDTO = new CustomerDTO("Teste da Silva", "11999999999", "52998224725");
     }
 
     @Test
@@ -115,8 +135,8 @@ public class CustomerControllerTest {
     @Test
     void listCustomers_ReturnsAllCustomers() throws Exception {
      
-        customerRepository.save(new CustomerModel(null, "Cliente 1", "11999999999", "12345678901"));
-        customerRepository.save(new CustomerModel(null, "Cliente 2", "22888888888", "98765432109"));
+        customerRepository.save(new CustomerModel(null, "Cliente 1", "11999999999", "52998224725"));
+        customerRepository.save(new CustomerModel(null, "Cliente 2", "22888888888", "98765432100"));
 
        
         mockMvc.perform(get("/customers")
@@ -127,4 +147,203 @@ public class CustomerControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Cliente 1"))
                 .andExpect(jsonPath("$[1].name").value("Cliente 2"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCustomer_WithMatchingIfNoneMatch_ReturnsNotModified() throws Exception {
+
+        String body = mockMvc.perform(post("/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(validCustomerDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readValue(body, CustomerModel.class).getId();
+
+        String etag = mockMvc.perform(get("/customers/" + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/customers/" + id).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(post("/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new CustomerDTO("Outro Cliente", "11988887777", "11144477735"))))
+                .andExpect(status().isCreated());
+        String changed = mockMvc.perform(get("/customers/" + id).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(validCustomerDTO.getName()))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    void getCustomer_WithCborAccepted_UsesItsOwnETagAndVariesByAccept() throws Exception {
+
+        CustomerModel saved = customerRepository.save(
+            new CustomerModel(null, "Cliente CBOR", "11999999999", "52998224725"));
+        String path = "/customers/" + saved.getId();
+
+        String jsonEtag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getHeader("ETag");
+        byte[] binary = mockMvc.perform(get(path).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(saved.getName(), new CBORMapper().readTree(binary).get("name").asText());
+
+        // Um cache que guardou o JSON não pode validar o CBOR com a mesma ETag
+        mockMvc.perform(get(path).accept(MediaType.APPLICATION_CBOR).header("If-None-Match", jsonEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", Matchers.not(jsonEtag)));
+        mockMvc.perform(get(path).header("If-None-Match", jsonEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept"));
+    }
+
+    @Test
+    void getCustomer_WithAnotherCustomersEtag_IsNotAnsweredWithNotModified() throws Exception {
+
+        CustomerModel saved = customerRepository.save(
+            new CustomerModel(null, "Cliente ETag", "11999999999", "52998224725"));
+        String etag = mockMvc.perform(get("/customers/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/customers/999999").header("If-None-Match", etag))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getCustomer_Twice_ServesSecondReadFromCache() throws Exception {
+
+        CustomerModel saved = customerRepository.save(
+            new CustomerModel(null, "Cliente Cache", "11999999999", "52998224725"));
+
+        mockMvc.perform(get("/customers/" + saved.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/customers/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Cliente Cache"));
+
+        // A view imutável, não a entidade gerenciada
+        assertInstanceOf(CustomerResponseDTO.class,
+            cacheManager.getCache(CustomerRepository.CACHE_NAME).get(saved.getId()).get());
+
+        mockMvc.perform(get("/actuator/metrics/cache.gets")
+                .param("tag", "cache:" + CustomerRepository.CACHE_NAME)
+                .param("tag", "result:hit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").isNumber());
+
+        customerRepository.deleteAll();
+        assertNull(cacheManager.getCache(CustomerRepository.CACHE_NAME).get(saved.getId()));
+    }
+
+    @Test
+    void importCustomers_WithCsv_ReturnsPerRowReport() throws Exception {
+
+        customerRepository.save(new CustomerModel(null, "Já Cadastrado", "11999999999", "11144477735"));
+        String csv = String.join("\n",
+            "name,phone,cpf",
+            "\"Silva, Ana\",11988887777,39053344705",
+            "Bruno Souza,11988887766,123",
+            "Carla Lima,11988887755,11144477735",
+            "Daniel Reis,11988887744,39053344705",
+            "linha quebrada",
+            "Eva Rocha,1133334444,86288366757");
+
+        mockMvc.perform(post("/customers/import")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(4))
+                .andExpect(jsonPath("$.errors[?(@.line == 3)].error").value("CPF inválido"))
+                .andExpect(jsonPath("$.errors[?(@.line == 4)].error").value("CPF já cadastrado"))
+                .andExpect(jsonPath("$.errors[?(@.line == 5)].error").value("CPF duplicado no arquivo"))
+                .andExpect(jsonPath("$.errors[?(@.line == 6)].error").value("Linha inválida"));
+
+        assertNotNull(customerRepository.findByCpf("39053344705"));
+        assertEquals("Silva, Ana", customerRepository.findByCpf("39053344705").getName());
+    }
+
+    @Test
+    void importCustomers_WithNdjson_ImportsValidRows() throws Exception {
+
+        String ndjson = String.join("\n",
+            objectMapper.writeValueAsString(new CustomerDTO("Fabio Melo", "11977776666", "93541134780")),
+            "{nao e json",
+            objectMapper.writeValueAsString(new CustomerDTO("Gabi Nunes", "119", "71460238001")));
+
+        mockMvc.perform(post("/customers/import")
+                .contentType("application/x-ndjson")
+                .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].error").value("Linha inválida"))
+                .andExpect(jsonPath("$.errors[1].error").value("Telefone inválido"));
+
+        assertNotNull(customerRepository.findByCpf("93541134780"));
+    }
+
+    @Test
+    void importCustomers_WithManyInvalidRows_CapsTheDetailedErrors() throws Exception {
+
+        int lines = CustomerImportReportDTO.MAX_ERRORS + 500;
+        String csv = String.join("\n", Collections.nCopies(lines, "linha quebrada"));
+
+        mockMvc.perform(post("/customers/import")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.rejected").value(lines))
+                .andExpect(jsonPath("$.errors.length()").value(CustomerImportReportDTO.MAX_ERRORS))
+                .andExpect(jsonPath("$.errorsTruncated").value(true));
+    }
+
+    @Test
+    void searchCustomers_ByNamePhoneOrCpfPrefix_ReturnsMatches() throws Exception {
+
+        customerRepository.save(new CustomerModel(null, "Ana Souza", "11988887777", "52998224725"));
+        customerRepository.save(new CustomerModel(null, "Bruno Anacleto", "21977776666", "11144477735"));
+        searchIndex.warmUp();
+        mockMvc.perform(post("/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CustomerDTO("Carla Ana Lima", "11966665555",
+                        "39053344705"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/customers/search").param("q", "An"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].name").value("Carla Ana Lima"));
+
+        mockMvc.perform(get("/customers/search").param("q", "ana s"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].cpf").value("52998224725"));
+
+        mockMvc.perform(get("/customers/search").param("q", "390.533"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Carla Ana Lima"));
+
+        searchIndex.compact();
+        mockMvc.perform(get("/customers/search").param("q", "119").param("limit", "1"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].phone").value("11966665555"));
+    }
+
+    @Test
+    void searchCustomers_WithBlankQuery_ReturnsBadRequest() throws Exception {
+
+        mockMvc.perform(get("/customers/search").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_QUERY"));
+    }
+}
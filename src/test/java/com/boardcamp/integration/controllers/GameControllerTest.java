@@ -1,22 +1,41 @@
 package com.boardcamp.integration.controllers;
 
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.boardcamp.dtos.GameDTO;
+import com.boardcamp.dtos.RentalDTO;
+import com.boardcamp.models.CustomerModel;
 import com.boardcamp.models.GameModel;
+import com.boardcamp.repositories.CustomerRepository;
 import com.boardcamp.repositories.GameRepository;
+import com.boardcamp.repositories.RentalRepository;
+import com.boardcamp.services.GameCatalogSnapshot;
+import com.boardcamp.services.GameSearchIndex;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+import jakarta.persistence.EntityManagerFactory;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -32,17 +51,40 @@ public class GameControllerTest {
     @Autowired
     private GameRepository gameRepository;
 
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private GameSearchIndex searchIndex;
+
+    @Autowired
+    private GameCatalogSnapshot catalogSnapshot;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private GameDTO validGameDTO;
 
     @BeforeEach
     void setUp() {
     
+        rentalRepository.deleteAll();
         gameRepository.deleteAll();
+        searchIndex.warmUp();
+        catalogSnapshot.rebuild();
 
     
         validGameDTO = new GameDTO("Banco Imobiliário", "http://image.url", 3, 1500);
     }
 
+    @AfterEach
+    void tearDown() {
+        rentalRepository.deleteAll();
+    }
+
     @Test
     void createGame_WithValidData_ReturnsCreatedStatus() throws Exception {
    
@@ -144,6 +186,8 @@ public class GameControllerTest {
     
         gameRepository.save(new GameModel(null, "Jogo 1", "http://image1.url", 3, 1500));
         gameRepository.save(new GameModel(null, "Jogo 2", "http://image2.url", 5, 2000));
+        // Gravados direto no repositório, sem passar pelo addGame
+        catalogSnapshot.rebuild();
 
      
         mockMvc.perform(get("/games")
@@ -154,4 +198,232 @@ public class GameControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Jogo 1"))
                 .andExpect(jsonPath("$[1].name").value("Jogo 2"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void listGames_WithMatchingIfNoneMatch_ReturnsNotModifiedWithoutQuerying() throws Exception {
+
+        createGame(validGameDTO);
+        String etag = mockMvc.perform(get("/games"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/games").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        // Um cadastro novo muda a versão do catálogo
+        createGame(new GameDTO("War", "http://image.url", 2, 1000));
+        String changed = mockMvc.perform(get("/games").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    void listGames_AfterGameWrittenElsewhere_RefreshServesItWithNewETag() throws Exception {
+
+        createGame(validGameDTO);
+        String etag = mockMvc.perform(get("/games"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Como outra instância: grava direto no banco, sem o addGame desta
+        gameRepository.save(new GameModel(null, "War", "http://image.url", 2, 1000));
+        catalogSnapshot.refresh();
+
+        String refreshed = mockMvc.perform(get("/games").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].name").value("War"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, refreshed);
+    }
+
+    @Test
+    void listGames_WithGzipAccepted_ServesCompressedSnapshot() throws Exception {
+
+        createGame(validGameDTO);
+        createGame(new GameDTO("War", "http://image.url", 2, 1000));
+
+        MockHttpServletResponse plain = mockMvc.perform(get("/games"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Vary", "Accept, Accept-Encoding"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn().getResponse();
+        MockHttpServletResponse gzipped = mockMvc.perform(get("/games")
+                .header("Accept-Encoding", "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Content-Type", "application/json"))
+                .andReturn().getResponse();
+
+        // O snapshot montado incrementalmente é igual à serialização do catálogo inteiro
+        assertArrayEquals(objectMapper.writeValueAsBytes(gameRepository.findAllViews()),
+                plain.getContentAsByteArray());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertArrayEquals(plain.getContentAsByteArray(), in.readAllBytes());
+        }
+        assertNotEquals(plain.getHeader("ETag"), gzipped.getHeader("ETag"));
+
+        mockMvc.perform(get("/games").header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"));
+    }
+
+    @Test
+    void listGames_WithCborAccepted_ServesCborSnapshotWithItsOwnETag() throws Exception {
+
+        createGame(validGameDTO);
+        createGame(new GameDTO("War", "http://image.url", 2, 1000));
+        MediaType cbor = MediaType.APPLICATION_CBOR;
+
+        MockHttpServletResponse json = mockMvc.perform(get("/games"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        MockHttpServletResponse binary = mockMvc.perform(get("/games").accept(cbor))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(cbor))
+                .andExpect(header().string("Vary", "Accept, Accept-Encoding"))
+                .andReturn().getResponse();
+
+        assertEquals(objectMapper.readTree(json.getContentAsByteArray()),
+                new CBORMapper().readTree(binary.getContentAsByteArray()));
+        String etag = binary.getHeader("ETag");
+        assertNotEquals(json.getHeader("ETag"), etag);
+
+        mockMvc.perform(get("/games").accept(cbor).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept, Accept-Encoding"));
+        // A ETag do CBOR não vale para o JSON
+        mockMvc.perform(get("/games").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(get("/games").accept(MediaType.TEXT_HTML))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void listGames_WithAvailableFilter_HasNoETag() throws Exception {
+
+        mockMvc.perform(get("/games").param("available", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    void listGames_WithAvailableFilter_ReturnsOnlyGamesInStock() throws Exception {
+
+        GameModel rented = createGame(new GameDTO("Jogo Alugado", "http://image.url", 1, 1500));
+        GameModel free = createGame(new GameDTO("Jogo Livre", "http://image.url", 1, 1500));
+        CustomerModel customer = customerRepository.save(
+            new CustomerModel(null, "Cliente Teste", "11999999999", "10987654321"));
+
+        mockMvc.perform(post("/rentals")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RentalDTO(customer.getId(), rented.getId(), 3))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/games").param("available", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(free.getId()));
+    }
+
+    @Test
+    void searchGames_IgnoresAccentsAndRanksWholeWordsFirst() throws Exception {
+
+        createGame(new GameDTO("Imagem & Ação", "http://image.url", 2, 1500));
+        createGame(new GameDTO("Ação Secreta", "http://image.url", 2, 2500));
+        createGame(new GameDTO("Acampamento Maluco", "http://image.url", 2, 1000));
+        createGame(new GameDTO("Catan", "http://image.url", 2, 3000));
+
+        mockMvc.perform(get("/games/search").param("q", "acao"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("Ação Secreta"))
+                .andExpect(jsonPath("$[1].name").value("Imagem & Ação"));
+
+        mockMvc.perform(get("/games/search").param("q", "AC"))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[2].name").value("Imagem & Ação"));
+
+        mockMvc.perform(get("/games/search").param("q", "ima aç"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Imagem & Ação"));
+    }
+
+    @Test
+    void searchGames_WithoutQuery_ListsInNameOrder() throws Exception {
+
+        createGame(new GameDTO("Zoo", "http://image.url", 2, 1000));
+        createGame(new GameDTO("Ábaco", "http://image.url", 2, 1500));
+        createGame(new GameDTO("Azul Mega", "http://image.url", 2, 1200));
+        createGame(new GameDTO("Catan", "http://image.url", 2, 5000));
+
+        mockMvc.perform(get("/games/search").param("maxPrice", "2000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].name").value("Ábaco"))
+                .andExpect(jsonPath("$[1].name").value("Azul Mega"))
+                .andExpect(jsonPath("$[2].name").value("Zoo"));
+    }
+
+    @Test
+    void searchGames_AfterGameWrittenElsewhere_RefreshMakesItSearchable() throws Exception {
+
+        createGame(new GameDTO("Catan", "http://image.url", 2, 5000));
+        // Como outra instância: grava direto no banco, sem o addGame desta
+        gameRepository.save(new GameModel(null, "Ticket to Ride", "http://image.url", 2, 3000));
+
+        mockMvc.perform(get("/games/search").param("q", "ticket"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        searchIndex.refresh();
+
+        mockMvc.perform(get("/games/search").param("q", "ticket"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Ticket to Ride"));
+    }
+
+    @Test
+    void searchGames_FiltersByPriceAndAvailability() throws Exception {
+
+        GameModel rented = createGame(new GameDTO("Jogo da Vida", "http://image.url", 1, 1500));
+        createGame(new GameDTO("Jogo da Memória", "http://image.url", 1, 1200));
+        createGame(new GameDTO("Jogo de Luxo", "http://image.url", 1, 9000));
+        CustomerModel customer = customerRepository.save(
+            new CustomerModel(null, "Cliente Teste", "11999999999", "93541134780"));
+        mockMvc.perform(post("/rentals")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RentalDTO(customer.getId(), rented.getId(), 3))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/games/search").param("q", "jogo").param("maxPrice", "2000"))
+                .andExpect(jsonPath("$.length()").value(2));
+
+        mockMvc.perform(get("/games/search").param("maxPrice", "2000").param("available", "true"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Jogo da Memória"));
+
+        mockMvc.perform(get("/games/search").param("minPrice", "5000").param("maxPrice", "100"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_PRICE"));
+    }
+
+    private GameModel createGame(GameDTO dto) throws Exception {
+        String body = mockMvc.perform(post("/games")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, GameModel.class);
+    }
+}
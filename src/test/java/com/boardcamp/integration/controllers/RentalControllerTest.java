@@ -1,11 +1,16 @@
 package com.boardcamp.integration.controllers;
 
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.time.LocalDate;
+import java.util.List;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +19,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.boardcamp.dtos.RentalDTO;
 import com.boardcamp.models.CustomerModel;
@@ -22,7 +28,11 @@ import com.boardcamp.models.RentalModel;
 import com.boardcamp.repositories.CustomerRepository;
 import com.boardcamp.repositories.GameRepository;
 import com.boardcamp.repositories.RentalRepository;
+import com.boardcamp.services.OverdueRentalScanner;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+import jakarta.persistence.EntityManagerFactory;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -44,6 +54,12 @@ public class RentalControllerTest {
     @Autowired
     private GameRepository gameRepository;
 
+    @Autowired
+    private OverdueRentalScanner overdueRentalScanner;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private CustomerModel customer;
     private GameModel game;
     private RentalDTO validRentalDTO;
@@ -81,6 +97,90 @@ public class RentalControllerTest {
                 .andExpect(jsonPath("$.delayFee").value(0));
     }
 
+    @Test
+    void rentals_WithCborContentNegotiation_ReadAndWriteCbor() throws Exception {
+
+        MediaType cbor = MediaType.parseMediaType("application/cbor");
+        CBORMapper cborMapper = new CBORMapper();
+        for (int days = 1; days <= 3; days++) {
+            mockMvc.perform(post("/rentals")
+                    .contentType(cbor)
+                    .accept(cbor)
+                    .content(cborMapper.writeValueAsBytes(new RentalDTO(customer.getId(), game.getId(), days))))
+                    .andExpect(status().isCreated())
+                    .andExpect(content().contentType(cbor));
+        }
+
+        byte[] json = mockMvc.perform(get("/rentals").param("expand", "customer,game"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] binary = mockMvc.perform(get("/rentals").param("expand", "customer,game").accept(cbor))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(cbor))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Mesmo conteúdo, datas inclusive, em menos bytes
+        assertEquals(objectMapper.readTree(json), cborMapper.readTree(binary));
+        assertTrue(binary.length < json.length);
+    }
+
+    @Test
+    void createRentals_WithValidBatch_ReturnsCreatedStatus() throws Exception {
+
+        GameModel other = gameRepository.save(
+            new GameModel(null, "Outro Jogo", "http://image.url", 2, 1000));
+        List<RentalDTO> batch = List.of(
+            new RentalDTO(customer.getId(), game.getId(), 3),
+            new RentalDTO(customer.getId(), other.getId(), 2),
+            new RentalDTO(customer.getId(), other.getId(), 1));
+
+        mockMvc.perform(post("/rentals/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].game.id").value(game.getId()))
+                .andExpect(jsonPath("$[2].originalPrice").value(1000));
+
+        assertEquals(3, rentalRepository.count());
+    }
+
+    @Test
+    void createRentals_WithNotEnoughStock_CreatesNothing() throws Exception {
+
+        GameModel scarce = gameRepository.save(
+            new GameModel(null, "Jogo Escasso", "http://image.url", 1, 1000));
+        List<RentalDTO> batch = List.of(
+            new RentalDTO(customer.getId(), game.getId(), 3),
+            new RentalDTO(customer.getId(), scarce.getId(), 2),
+            new RentalDTO(customer.getId(), scarce.getId(), 1));
+
+        mockMvc.perform(post("/rentals/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error").value("Sem estoque disponível"))
+                .andExpect(jsonPath("$.code").value("NO_STOCK"));
+
+        assertEquals(0, rentalRepository.count());
+        assertEquals(game.getStockTotal(), gameRepository.findStockAvailableById(game.getId()));
+    }
+
+    @Test
+    void createRentals_WithNullElement_ReturnsBadRequest() throws Exception {
+
+        mockMvc.perform(post("/rentals/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"customerId\": " + customer.getId() + ", \"gameId\": " + game.getId()
+                    + ", \"daysRented\": 3}, null]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_BATCH"));
+
+        assertEquals(0, rentalRepository.count());
+    }
+
     @Test
     void createRental_WithInvalidCustomerId_ReturnsNotFoundStatus() throws Exception {
   
@@ -118,8 +218,151 @@ public class RentalControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].customerId").value(customer.getId()))
+                .andExpect(jsonPath("$[0].gameId").value(game.getId()))
+                .andExpect(jsonPath("$[0].customer").doesNotExist())
+                .andExpect(jsonPath("$[0].game").doesNotExist());
+    }
+
+    @Test
+    void listRentals_WithExpand_ReturnsNestedCustomerAndGame() throws Exception {
+
+        rentalRepository.save(new RentalModel(
+            null, customer, game, LocalDate.now(), 3, null, 4500, 0));
+
+        mockMvc.perform(get("/rentals").param("expand", "customer,game"))
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].customer.id").value(customer.getId()))
-                .andExpect(jsonPath("$[0].game.id").value(game.getId()));
+                .andExpect(jsonPath("$[0].customer.cpf").value(customer.getCpf()))
+                .andExpect(jsonPath("$[0].game.id").value(game.getId()))
+                .andExpect(jsonPath("$[0].game.pricePerDay").value(game.getPricePerDay()));
+    }
+
+    @Test
+    void listRentals_WithExpand_UsesConstantStatementCount() throws Exception {
+
+        saveRentalsWithDistinctCustomersAndGames(0, 2);
+        long fewRentals = statementsToList();
+
+        saveRentalsWithDistinctCustomersAndGames(2, 20);
+        long manyRentals = statementsToList();
+
+        assertEquals(1, fewRentals);
+        assertEquals(fewRentals, manyRentals);
+    }
+
+    private void saveRentalsWithDistinctCustomersAndGames(int from, int to) {
+        for (int i = from; i < to; i++) {
+            CustomerModel owner = customerRepository.save(
+                new CustomerModel(null, "Cliente " + i, "11999999999", String.format("%011d", i)));
+            GameModel rented = gameRepository.save(
+                new GameModel(null, "Jogo " + i, "http://image.url", 5, 1500));
+            rentalRepository.save(new RentalModel(null, owner, rented, LocalDate.now(), 3, null, 4500, 0));
+        }
+    }
+
+    private long statementsToList() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/rentals").param("expand", "customer,game").param("limit", "500"))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void listRentals_WithLimit_ReturnsNextCursorHeader() throws Exception {
+
+        RentalModel first = rentalRepository.save(new RentalModel(
+            null, customer, game, LocalDate.now(), 3, null, 4500, 0));
+        RentalModel second = rentalRepository.save(new RentalModel(
+            null, customer, game, LocalDate.now(), 3, null, 4500, 0));
+
+        mockMvc.perform(get("/rentals").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", first.getId().toString()))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(first.getId()));
+
+        mockMvc.perform(get("/rentals").param("limit", "1").param("cursor", first.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(second.getId()));
+    }
+
+    @Test
+    void listRentals_WithStatusFilter_ReturnsOnlyMatchingRentals() throws Exception {
+
+        rentalRepository.save(new RentalModel(
+            null, customer, game, LocalDate.now(), 3, null, 4500, 0));
+        RentalModel closed = rentalRepository.save(new RentalModel(
+            null, customer, game, LocalDate.now().minusDays(3), 3, LocalDate.now(), 4500, 0));
+
+        mockMvc.perform(get("/rentals")
+                .param("status", "closed")
+                .param("gameId", game.getId().toString())
+                .param("startDate", LocalDate.now().minusDays(5).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(closed.getId()));
+    }
+
+    @Test
+    void listRentals_WithInvalidStatus_ReturnsBadRequestStatus() throws Exception {
+
+        mockMvc.perform(get("/rentals").param("status", "pending"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Status inválido"));
+    }
+
+    @Test
+    void listOverdueRentals_ReturnsOpenRentalsPastExpectedReturnWithAccruedFee() throws Exception {
+
+        RentalModel overdue = rentalRepository.save(new RentalModel(
+            null, customer, game, LocalDate.now().minusDays(10), 3, null, 4500, 0));
+        rentalRepository.save(new RentalModel(
+            null, customer, game, LocalDate.now(), 3, null, 4500, 0));
+        rentalRepository.save(new RentalModel(
+            null, customer, game, LocalDate.now().minusDays(10), 3, LocalDate.now(), 4500, 10500));
+        overdueRentalScanner.scan(LocalDate.now());
+
+        mockMvc.perform(get("/rentals/overdue"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(overdue.getId()))
+                .andExpect(jsonPath("$[0].expectedReturnDate").value(LocalDate.now().minusDays(7).toString()))
+                .andExpect(jsonPath("$[0].accruedFee").value(7 * 1500));
+    }
+
+    @Test
+    void exportRentals_WithSince_StreamsOnlyChangedRentalsAsNdjson() throws Exception {
+
+        rentalRepository.save(new RentalModel(
+            null, customer, game, LocalDate.now().minusDays(30), 3, LocalDate.now().minusDays(27), 4500, 0));
+        RentalModel returnedToday = rentalRepository.save(new RentalModel(
+            null, customer, game, LocalDate.now().minusDays(30), 3, LocalDate.now(), 4500, 40500));
+        RentalModel rentedToday = rentalRepository.save(new RentalModel(
+            null, customer, game, LocalDate.now(), 3, null, 4500, 0));
+
+        MvcResult result = mockMvc.perform(get("/rentals/export")
+                .param("since", LocalDate.now().minusDays(1).toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"));
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(returnedToday.getId(),
+            objectMapper.readTree(lines[0]).get("id").asLong());
+        assertEquals(rentedToday.getId(),
+            objectMapper.readTree(lines[1]).get("id").asLong());
+        assertEquals(customer.getId(),
+            objectMapper.readTree(lines[1]).get("customer").get("id").asLong());
     }
 
     @Test
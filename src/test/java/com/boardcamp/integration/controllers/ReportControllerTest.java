@@ -0,0 +1,191 @@
+package com.boardcamp.integration.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.boardcamp.models.CustomerModel;
+import com.boardcamp.models.GameModel;
+import com.boardcamp.models.RentalModel;
+import com.boardcamp.repositories.CustomerRepository;
+import com.boardcamp.repositories.GameRepository;
+import com.boardcamp.repositories.RentalRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    private CustomerModel customer;
+    private GameModel game;
+    private GameModel other;
+
+    @BeforeEach
+    void setUp() {
+        rentalRepository.deleteAll();
+        customerRepository.deleteAll();
+        gameRepository.deleteAll();
+
+        customer = customerRepository.save(new CustomerModel(null, "Cliente Teste", "11999999999", "12345678901"));
+        game = gameRepository.save(new GameModel(null, "Jogo Teste", "http://image.url", 2, 1000));
+        other = gameRepository.save(new GameModel(null, "Outro Jogo", "http://image.url", 1, 500));
+
+        // 2024-01-01 é segunda-feira: os dias 1 e 3 caem na semana 1, o dia 8 na semana 2
+        rentalRepository.save(new RentalModel(null, customer, game, LocalDate.of(2024, 1, 1), 3, LocalDate.of(2024, 1, 5), 3000, 1000));
+        rentalRepository.save(new RentalModel(null, customer, game, LocalDate.of(2024, 1, 3), 2, null, 2000, 0));
+        rentalRepository.save(new RentalModel(null, customer, other, LocalDate.of(2024, 1, 8), 4, null, 2000, 0));
+        rentalRepository.save(new RentalModel(null, customer, other, LocalDate.of(2024, 2, 1), 1, null, 500, 0));
+    }
+
+    // Outras classes de teste apagam clientes sem apagar aluguéis antes
+    @AfterEach
+    void tearDown() {
+        rentalRepository.deleteAll();
+    }
+
+    @Test
+    void revenue_GroupedByGame_SumsPriceAndDelayFee() throws Exception {
+
+        mockMvc.perform(get("/reports/revenue")
+                .param("from", "2024-01-01")
+                .param("to", "2024-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].key").value(game.getId().toString()))
+                .andExpect(jsonPath("$[0].name").value("Jogo Teste"))
+                .andExpect(jsonPath("$[0].rentals").value(2))
+                .andExpect(jsonPath("$[0].originalPrice").value(5000))
+                .andExpect(jsonPath("$[0].delayFee").value(1000))
+                .andExpect(jsonPath("$[0].revenue").value(6000))
+                .andExpect(jsonPath("$[1].revenue").value(2000));
+    }
+
+    @Test
+    void revenue_GroupedByCustomerAndMonth_CoversWholeRange() throws Exception {
+
+        mockMvc.perform(get("/reports/revenue")
+                .param("from", "2024-01-01")
+                .param("to", "2024-12-31")
+                .param("groupBy", "customer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].key").value(customer.getId().toString()))
+                .andExpect(jsonPath("$[0].rentals").value(4))
+                .andExpect(jsonPath("$[0].revenue").value(8500));
+
+        mockMvc.perform(get("/reports/revenue")
+                .param("from", "2024-01-01")
+                .param("to", "2024-12-31")
+                .param("groupBy", "month"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].key").value("2024-01"))
+                .andExpect(jsonPath("$[0].name").doesNotExist())
+                .andExpect(jsonPath("$[0].revenue").value(8000))
+                .andExpect(jsonPath("$[1].key").value("2024-02"))
+                .andExpect(jsonPath("$[1].revenue").value(500));
+    }
+
+    @Test
+    void utilization_GroupedByWeek_SumsRentalDays() throws Exception {
+
+        mockMvc.perform(get("/reports/utilization")
+                .param("from", "2024-01-01")
+                .param("to", "2024-01-31")
+                .param("groupBy", "week"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].key").value("2024-W01"))
+                .andExpect(jsonPath("$[0].rentals").value(2))
+                .andExpect(jsonPath("$[0].rentalDays").value(5))
+                .andExpect(jsonPath("$[0].occupancy").doesNotExist())
+                .andExpect(jsonPath("$[1].key").value("2024-W02"))
+                .andExpect(jsonPath("$[1].rentalDays").value(4));
+    }
+
+    @Test
+    void utilization_GroupedByGame_ComputesOccupancy() throws Exception {
+
+        mockMvc.perform(get("/reports/utilization")
+                .param("from", "2024-01-01")
+                .param("to", "2024-01-10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].rentalDays").value(5))
+                .andExpect(jsonPath("$[0].occupancy").value(0.25))
+                .andExpect(jsonPath("$[1].occupancy").value(0.4));
+    }
+
+    @Test
+    void revenue_WithInvalidParameters_ReturnsBadRequest() throws Exception {
+
+        mockMvc.perform(get("/reports/revenue")
+                .param("from", "2024-02-01")
+                .param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Período inválido"));
+
+        mockMvc.perform(get("/reports/revenue")
+                .param("from", "2024-01-01")
+                .param("to", "2024-01-31")
+                .param("groupBy", "year"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Agrupamento inválido"));
+
+        mockMvc.perform(get("/reports/revenue")
+                .param("from", "2024-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Parâmetro inválido: to"));
+    }
+
+    @Test
+    void daily_AfterRebuild_ReadsRollupsPerDay() throws Exception {
+
+        mockMvc.perform(post("/reports/rollups/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(5));
+
+        mockMvc.perform(get("/reports/daily")
+                .param("from", "2024-01-01")
+                .param("to", "2024-01-05"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].day").value("2024-01-01"))
+                .andExpect(jsonPath("$[0].gameId").doesNotExist())
+                .andExpect(jsonPath("$[0].rentalsOpened").value(1))
+                .andExpect(jsonPath("$[0].revenue").value(3000))
+                .andExpect(jsonPath("$[2].day").value("2024-01-05"))
+                .andExpect(jsonPath("$[2].rentalsReturned").value(1))
+                .andExpect(jsonPath("$[2].delayFees").value(1000));
+
+        mockMvc.perform(get("/reports/daily")
+                .param("from", "2024-01-01")
+                .param("to", "2024-02-29")
+                .param("gameId", other.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].gameId").value(other.getId()))
+                .andExpect(jsonPath("$[1].day").value("2024-02-01"));
+    }
+}
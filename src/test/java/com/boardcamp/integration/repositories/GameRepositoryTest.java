@@ -9,6 +9,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.boardcamp.models.GameModel;
@@ -21,6 +22,9 @@ public class GameRepositoryTest {
     @Autowired
     private GameRepository gameRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private GameModel game;
 
     @BeforeEach
@@ -101,4 +105,46 @@ public class GameRepositoryTest {
         assertTrue(games.stream().anyMatch(g -> g.getName().equals("Banco Imobiliário")));
         assertTrue(games.stream().anyMatch(g -> g.getName().equals("Xadrez")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void reserveStock_UntilExhausted_ShouldStopAtZero() {
+
+        GameModel savedGame = gameRepository.save(game);
+        entityManager.flush();
+
+        assertEquals(1, gameRepository.reserveStock(savedGame.getId(), 2));
+        assertEquals(0, gameRepository.reserveStock(savedGame.getId(), 2));
+        assertEquals(1, gameRepository.reserveStock(savedGame.getId(), 1));
+        entityManager.clear();
+
+        assertEquals(0, gameRepository.findById(savedGame.getId()).orElseThrow().getStockAvailable());
+    }
+
+    @Test
+    void releaseStock_WhenAlreadyFull_ShouldNotExceedStockTotal() {
+
+        GameModel savedGame = gameRepository.save(game);
+        entityManager.flush();
+
+        assertEquals(0, gameRepository.releaseStock(savedGame.getId(), 1));
+        assertEquals(1, gameRepository.reserveStock(savedGame.getId(), 1));
+        assertEquals(1, gameRepository.releaseStock(savedGame.getId(), 1));
+        entityManager.clear();
+
+        assertEquals(game.getStockTotal(), gameRepository.findById(savedGame.getId()).orElseThrow().getStockAvailable());
+    }
+
+    @Test
+    void initializeMissingStockCounters_ShouldFillOnlyUninitializedGames() {
+
+        game.setStockAvailable(null);
+        GameModel savedGame = gameRepository.save(game);
+        gameRepository.save(new GameModel(null, "Jogo 2", "http://image2.url", 2, 2000));
+        entityManager.flush();
+
+        assertEquals(1, gameRepository.initializeMissingStockCounters());
+        entityManager.clear();
+
+        assertEquals(game.getStockTotal(), gameRepository.findById(savedGame.getId()).orElseThrow().getStockAvailable());
+    }
+}
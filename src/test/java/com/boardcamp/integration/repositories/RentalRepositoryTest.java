@@ -5,11 +5,15 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.boardcamp.models.CustomerModel;
@@ -32,6 +36,9 @@ public class RentalRepositoryTest {
     @Autowired
     private GameRepository gameRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private CustomerModel customer;
     private GameModel game;
     private RentalModel rental;
@@ -131,4 +138,80 @@ public class RentalRepositoryTest {
         assertTrue(rentals.stream().anyMatch(r -> r.getId().equals(rental1.getId())));
         assertTrue(rentals.stream().anyMatch(r -> r.getGame().getName().equals("Jogo 2")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void streamChangedSince_ShouldReturnRentalsRentedOrReturnedAfterWatermark() {
+
+        rental.setRentDate(LocalDate.now().minusDays(10));
+        rental.setReturnDate(LocalDate.now().minusDays(7));
+        rentalRepository.save(rental);
+        RentalModel recent = rentalRepository.save(
+            new RentalModel(null, customer, game, LocalDate.now(), 3, null, 4500, 0));
+
+        try (Stream<RentalModel> rentals = rentalRepository.streamChangedSince(LocalDate.now().minusDays(1))) {
+            List<RentalModel> result = rentals.toList();
+
+            assertEquals(1, result.size());
+            assertEquals(recent.getId(), result.get(0).getId());
+        }
+    }
+
+    @Test
+    void findAll_ShouldLoadCustomersAndGamesWithConstantStatementCount() {
+
+        saveRentalsWithDistinctCustomersAndGames(0, 3);
+        long fewRentals = statementsToLoadAllRentals();
+
+        saveRentalsWithDistinctCustomersAndGames(3, 30);
+        long manyRentals = statementsToLoadAllRentals();
+
+        assertEquals(1, fewRentals);
+        assertEquals(fewRentals, manyRentals);
+    }
+
+    @Test
+    void findWithCustomerAndGameById_ShouldLoadAssociationsInOneStatement() {
+
+        RentalModel saved = rentalRepository.save(rental);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        RentalModel loaded = rentalRepository.findWithCustomerAndGameById(saved.getId()).orElseThrow();
+
+        assertEquals("Cliente Teste", loaded.getCustomer().getName());
+        assertEquals("Jogo Teste", loaded.getGame().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private void saveRentalsWithDistinctCustomersAndGames(int from, int to) {
+        for (int i = from; i < to; i++) {
+            CustomerModel owner = customerRepository.save(
+                new CustomerModel(null, "Cliente " + i, "11999999999", String.format("%011d", i)));
+            GameModel rented = gameRepository.save(
+                new GameModel(null, "Jogo " + i, "http://image.url", 5, 1500));
+            rentalRepository.save(new RentalModel(null, owner, rented, LocalDate.now(), 3, null, 4500, 0));
+        }
+    }
+
+    // Conta os statements de listar e tocar cliente e jogo de cada aluguel, com o contexto de persistência vazio
+    private long statementsToLoadAllRentals() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        List<RentalModel> rentals = rentalRepository.findAll();
+        rentals.forEach(loaded -> {
+            assertNotNull(loaded.getCustomer().getName());
+            assertNotNull(loaded.getGame().getName());
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+    }
+}
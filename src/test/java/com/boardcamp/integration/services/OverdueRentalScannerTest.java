@@ -0,0 +1,100 @@
+package com.boardcamp.integration.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.boardcamp.models.CustomerModel;
+import com.boardcamp.models.GameModel;
+import com.boardcamp.models.RentalModel;
+import com.boardcamp.repositories.CustomerRepository;
+import com.boardcamp.repositories.GameRepository;
+import com.boardcamp.repositories.RentalRepository;
+import com.boardcamp.services.OverdueRentalScanner;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OverdueRentalScannerTest {
+
+    @Autowired
+    private OverdueRentalScanner scanner;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    private CustomerModel customer;
+    private GameModel game;
+
+    @BeforeEach
+    void setUp() {
+        rentalRepository.deleteAll();
+        customerRepository.deleteAll();
+        gameRepository.deleteAll();
+
+        customer = customerRepository.save(
+            new CustomerModel(null, "Cliente Teste", "11999999999", "12345678901"));
+        game = gameRepository.save(
+            new GameModel(null, "Jogo Teste", "http://image.url", 5, 1500));
+    }
+
+    @Test
+    void scan_ShouldAccrueFeeOnlyForOverdueOpenRentals() {
+        LocalDate today = LocalDate.now();
+        RentalModel overdue = rentalRepository.save(new RentalModel(
+            null, customer, game, today.minusDays(10), 3, null, 4500, 0));
+        RentalModel onTime = rentalRepository.save(new RentalModel(
+            null, customer, game, today.minusDays(1), 3, null, 4500, 0));
+        RentalModel returned = rentalRepository.save(new RentalModel(
+            null, customer, game, today.minusDays(10), 3, today.minusDays(2), 4500, 7500));
+
+        assertEquals(1, scanner.scan(today));
+
+        RentalModel accrued = rentalRepository.findById(overdue.getId()).orElseThrow();
+        assertEquals(today.minusDays(7), accrued.getExpectedReturnDate());
+        assertEquals(7 * 1500, accrued.getAccruedFee());
+        assertEquals(today, accrued.getFeeAccruedOn());
+        assertNull(rentalRepository.findById(onTime.getId()).orElseThrow().getAccruedFee());
+        assertNull(rentalRepository.findById(returned.getId()).orElseThrow().getAccruedFee());
+    }
+
+    @Test
+    void scan_ShouldSkipRentalsAlreadyAccruedForTheDay() {
+        LocalDate today = LocalDate.now();
+        RentalModel overdue = rentalRepository.save(new RentalModel(
+            null, customer, game, today.minusDays(10), 3, null, 4500, 0));
+
+        assertEquals(1, scanner.scan(today.minusDays(1)));
+        assertEquals(6 * 1500, rentalRepository.findById(overdue.getId()).orElseThrow().getAccruedFee());
+
+        assertEquals(1, scanner.scan(today));
+        assertEquals(0, scanner.scan(today));
+        assertEquals(7 * 1500, rentalRepository.findById(overdue.getId()).orElseThrow().getAccruedFee());
+    }
+
+    @Test
+    void scan_ShouldBackfillMissingExpectedReturnDate() {
+        LocalDate today = LocalDate.now();
+        RentalModel legacy = new RentalModel(null, customer, game, today.minusDays(5), 2, null, 3000, 0);
+        legacy = rentalRepository.save(legacy);
+        legacy.setExpectedReturnDate(null);
+        rentalRepository.save(legacy);
+
+        assertEquals(1, scanner.scan(today));
+
+        RentalModel scanned = rentalRepository.findById(legacy.getId()).orElseThrow();
+        assertEquals(today.minusDays(3), scanned.getExpectedReturnDate());
+        assertEquals(3 * 1500, scanned.getAccruedFee());
+    }
+}
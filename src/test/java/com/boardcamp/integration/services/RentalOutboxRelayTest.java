@@ -0,0 +1,253 @@
+package com.boardcamp.integration.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.dtos.RentalDTO;
+import com.boardcamp.events.FileOutboxSink;
+import com.boardcamp.events.RentalEvent;
+import com.boardcamp.events.RentalEventListener;
+import com.boardcamp.events.RentalEventPipeline;
+import com.boardcamp.models.CustomerModel;
+import com.boardcamp.models.GameModel;
+import com.boardcamp.models.RentalModel;
+import com.boardcamp.models.RentalOutboxModel;
+import com.boardcamp.repositories.CustomerRepository;
+import com.boardcamp.repositories.GameRepository;
+import com.boardcamp.repositories.RentalOutboxRepository;
+import com.boardcamp.repositories.RentalRepository;
+import com.boardcamp.services.RentalOutboxRelay;
+import com.boardcamp.services.RentalService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class RentalOutboxRelayTest {
+
+    @Autowired
+    private RentalOutboxRelay relay;
+
+    @Autowired
+    private FileOutboxSink fileSink;
+
+    @Autowired
+    private RentalEventPipeline pipeline;
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private RentalOutboxRepository outboxRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private CustomerModel customer;
+    private GameModel game;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rentalRepository.deleteAll();
+        outboxRepository.deleteAll();
+        Files.deleteIfExists(fileSink.getFile());
+
+        customer = customerRepository.findByCpf("55566677788");
+        if (customer == null) {
+            customer = customerRepository.save(
+                new CustomerModel(null, "Cliente Outbox", "11999999999", "55566677788"));
+        }
+        game = gameRepository.save(
+            new GameModel(null, "Jogo Outbox " + System.nanoTime(), "http://image.url", 5, 1500));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rentalRepository.deleteAll();
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void relay_DeliversEveryStateChangeInOrderAndEmptiesTheOutbox() throws Exception {
+        RentalModel first = rentalService.createRental(new RentalDTO(customer.getId(), game.getId(), 3));
+        RentalModel second = rentalService.createRentals(
+            List.of(new RentalDTO(customer.getId(), game.getId(), 2))).get(0);
+        rentalService.finalizeRental(first.getId());
+        rentalService.deleteRental(first.getId());
+
+        // Gravado na transação de cada mudança, antes de qualquer entrega
+        assertEquals(4, outboxRepository.count());
+
+        assertEquals(4, relay.relay());
+        assertEquals(0, outboxRepository.count());
+        assertEquals(0, relay.relay());
+
+        List<JsonNode> delivered = new ArrayList<>();
+        for (String line : Files.readAllLines(fileSink.getFile())) {
+            delivered.add(objectMapper.readTree(line));
+        }
+        assertEquals(List.of("OPENED", "OPENED", "RETURNED", "DELETED"),
+            delivered.stream().map(event -> event.get("type").asText()).toList());
+        assertEquals(List.of(first.getId(), second.getId(), first.getId(), first.getId()),
+            delivered.stream().map(event -> event.get("rentalId").asLong()).toList());
+        assertEquals(4500, delivered.get(2).get("originalPrice").asInt());
+        assertEquals(LocalDate.now().toString(), delivered.get(2).get("returnDate").asText());
+    }
+
+    @Test
+    void relay_WhenSinkFails_KeepsTheBatchForTheNextRun() throws Exception {
+        rentalService.createRental(new RentalDTO(customer.getId(), game.getId(), 3));
+        rentalService.createRental(new RentalDTO(customer.getId(), game.getId(), 1));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RentalOutboxRelay failing = new RentalOutboxRelay(outboxRepository, events -> {
+            throw new IllegalStateException("destino fora do ar");
+        }, pipeline, transactionTemplate, registry, 100, 10);
+
+        assertEquals(0, failing.relay());
+        assertEquals(2, outboxRepository.count());
+        assertEquals(1.0, registry.get(RentalOutboxRelay.METRIC_PREFIX + ".failed").counter().count());
+        assertEquals(0.0, registry.get(RentalOutboxRelay.METRIC_PREFIX + ".delivered").counter().count());
+
+        assertEquals(2, relay.relay());
+        assertEquals(2, Files.readAllLines(fileSink.getFile()).size());
+    }
+
+    @Test
+    void relay_StopsAfterMaxBatchesPerRun() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            rentalService.createRental(new RentalDTO(customer.getId(), game.getId(), 1));
+        }
+
+        RentalOutboxRelay capped = new RentalOutboxRelay(outboxRepository, fileSink, pipeline, transactionTemplate,
+            new SimpleMeterRegistry(), 2, 2);
+
+        assertEquals(4, capped.relay());
+        assertEquals(1, outboxRepository.count());
+        assertEquals(1, capped.relay());
+        assertEquals(5, Files.readAllLines(fileSink.getFile()).size());
+    }
+
+    @Test
+    void relay_FeedsListenersAndKeepsRowsWhileTheirQueuesAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> received = Collections.synchronizedList(new ArrayList<>());
+        RentalEventListener slow = events -> {
+            started.countDown();
+            await(release);
+            events.forEach(event -> received.add(event.rentalId()));
+        };
+        RentalEventPipeline small = new RentalEventPipeline(
+            new StaticListableBeanFactory(Map.of("slow", slow)).getBeanProvider(RentalEventListener.class),
+            new SimpleMeterRegistry(), 2, 10, 10_000);
+        small.start();
+        List<Integer> sent = Collections.synchronizedList(new ArrayList<>());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RentalOutboxRelay feeding = new RentalOutboxRelay(outboxRepository, events -> sent.add(events.size()), small,
+            transactionTemplate, registry, 2, 10);
+        try {
+            List<Long> ids = new ArrayList<>();
+            ids.add(rentalService.createRental(new RentalDTO(customer.getId(), game.getId(), 3)).getId());
+            assertEquals(1, feeding.relay());
+            // O consumidor segura o primeiro lote e a fila dele volta a ter espaço para dois eventos
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 3; i++) {
+                ids.add(rentalService.createRental(new RentalDTO(customer.getId(), game.getId(), 1)).getId());
+            }
+            assertEquals(2, feeding.relay());
+            assertEquals(1, outboxRepository.count());
+            assertEquals(List.of(1, 2), sent);
+            assertEquals(1.0, registry.get(RentalOutboxRelay.METRIC_PREFIX + ".deferred").counter().count());
+
+            release.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (received.size() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, feeding.relay());
+            small.stop();
+            assertEquals(ids, received);
+            assertEquals(0, outboxRepository.count());
+        } finally {
+            release.countDown();
+            if (small.isRunning()) {
+                small.stop();
+            }
+        }
+    }
+
+    @Test
+    void relay_SkipsRowsLockedByAnotherRelay() throws Exception {
+        for (long rentalId = 1; rentalId <= 5; rentalId++) {
+            outboxRepository.save(new RentalOutboxModel(null, RentalEvent.Type.OPENED, rentalId, customer.getId(),
+                game.getId(), LocalDate.now(), 3, null, 4500, 0, Instant.now()));
+        }
+
+        // Outra instância segura as duas linhas mais antigas sem terminar a transação
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<Long>> other = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            List<Long> ids = outboxRepository.claimBatch(2).stream().map(RentalOutboxModel::getRentalId).toList();
+            claimed.countDown();
+            await(release);
+            status.setRollbackOnly();
+            return ids;
+        }));
+        assertTrue(claimed.await(5, TimeUnit.SECONDS));
+
+        assertEquals(3, relay.relay());
+        release.countDown();
+        assertEquals(List.of(1L, 2L), other.get(5, TimeUnit.SECONDS));
+
+        // Liberadas pela outra transação, as linhas saem na rodada seguinte
+        assertEquals(2, relay.relay());
+        List<Long> delivered = new ArrayList<>();
+        for (String line : Files.readAllLines(fileSink.getFile())) {
+            delivered.add(objectMapper.readTree(line).get("rentalId").asLong());
+        }
+        assertEquals(List.of(3L, 4L, 5L, 1L, 2L), delivered);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.boardcamp.integration.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.dtos.RentalDTO;
+import com.boardcamp.models.CustomerModel;
+import com.boardcamp.models.GameModel;
+import com.boardcamp.models.RentalDailyRollupModel;
+import com.boardcamp.models.RentalModel;
+import com.boardcamp.repositories.CustomerRepository;
+import com.boardcamp.repositories.GameRepository;
+import com.boardcamp.repositories.RentalDailyRollupRepository;
+import com.boardcamp.repositories.RentalRepository;
+import com.boardcamp.services.RentalRollupService;
+import com.boardcamp.services.RentalService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class RentalRollupServiceTest {
+
+    @Autowired
+    private RentalRollupService rollupService;
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private RentalDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private CustomerModel customer;
+    private GameModel game;
+    private GameModel other;
+
+    @BeforeEach
+    void setUp() {
+        rentalRepository.deleteAll();
+        customerRepository.deleteAll();
+        gameRepository.deleteAll();
+        // Sem aluguéis, a reconstrução zera a tabela e descarta deltas de outros testes
+        rollupService.rebuild();
+
+        customer = customerRepository.save(
+            new CustomerModel(null, "Cliente Teste", "11999999999", "12345678901"));
+        game = gameRepository.save(
+            new GameModel(null, "Jogo Teste", "http://image.url", 5, 1500));
+        other = gameRepository.save(
+            new GameModel(null, "Outro Jogo", "http://image.url", 5, 1000));
+    }
+
+    @Test
+    void flush_AppliesDeltasRecordedAfterCommit_AndMatchesRebuild() {
+        LocalDate today = LocalDate.now();
+        RentalModel first = rentalService.createRental(new RentalDTO(customer.getId(), game.getId(), 3));
+        rentalService.createRental(new RentalDTO(customer.getId(), game.getId(), 2));
+        rentalService.createRentals(List.of(new RentalDTO(customer.getId(), other.getId(), 1)));
+        rentalService.finalizeRental(first.getId());
+
+        // As requisições só acumulam em memória; nada chega ao banco antes da descarga
+        assertEquals(0, rollupRepository.count());
+        assertEquals(2, rollupService.flush());
+
+        List<RentalDailyRollupModel> incremental = rollups();
+        assertEquals(List.of(
+            new RentalDailyRollupModel(game.getId(), today, 2, 1, 7500, 0),
+            new RentalDailyRollupModel(other.getId(), today, 1, 0, 1000, 0)), incremental);
+
+        assertEquals(2, rollupService.rebuild());
+        assertEquals(incremental, rollups());
+    }
+
+    @Test
+    void flush_WithLateReturnAndDeletion_TracksFeeAndUndoesRental() {
+        LocalDate today = LocalDate.now();
+        RentalModel late = rentalRepository.save(new RentalModel(
+            null, customer, game, today.minusDays(10), 3, null, 4500, 0));
+        rollupService.rebuild();
+
+        rentalService.finalizeRental(late.getId());
+        rollupService.flush();
+        assertEquals(List.of(
+            new RentalDailyRollupModel(game.getId(), today.minusDays(10), 1, 0, 4500, 0),
+            new RentalDailyRollupModel(game.getId(), today, 0, 1, 0, 7 * 1500)), rollups());
+
+        rentalService.deleteRental(late.getId());
+        rollupService.flush();
+        assertEquals(List.of(
+            new RentalDailyRollupModel(game.getId(), today.minusDays(10), 0, 0, 0, 0),
+            new RentalDailyRollupModel(game.getId(), today, 0, 0, 0, 0)), rollups());
+        assertEquals(0, rollupService.rebuild());
+    }
+
+    @Test
+    void flush_WhenTransactionRollsBack_RecordsNothing() {
+        List<RentalDTO> batch = List.of(
+            new RentalDTO(customer.getId(), game.getId(), 1),
+            new RentalDTO(customer.getId(), 999L, 1));
+
+        assertThrows(RuntimeException.class, () -> rentalService.createRentals(batch));
+
+        assertEquals(0, rollupService.pendingCount());
+        assertEquals(0, rollupService.flush());
+    }
+
+    @Test
+    void rebuild_WaitsForCommittedRentalsToRecordTheirDelta() throws Exception {
+        LocalDate today = LocalDate.now();
+        CountDownLatch committed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Aluguel já confirmado no banco, parado antes de registrar o delta em memória
+        CompletableFuture<Void> rental = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+            status -> {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        committed.countDown();
+                        await(release);
+                    }
+                });
+                rentalService.createRental(new RentalDTO(customer.getId(), game.getId(), 3));
+            }));
+        assertTrue(committed.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Integer> rebuild = CompletableFuture.supplyAsync(rollupService::rebuild);
+        Thread.sleep(200);
+        assertFalse(rebuild.isDone());
+
+        release.countDown();
+        rental.get(5, TimeUnit.SECONDS);
+        assertEquals(1, rebuild.get(5, TimeUnit.SECONDS));
+
+        // O delta registrado antes da reconstrução foi descartado: o aluguel conta uma vez só
+        rollupService.flush();
+        assertEquals(List.of(new RentalDailyRollupModel(game.getId(), today, 1, 0, 4500, 0)), rollups());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<RentalDailyRollupModel> rollups() {
+        return rollupRepository.findAll().stream()
+            .sorted(Comparator.comparing(RentalDailyRollupModel::getGameId)
+                .thenComparing(RentalDailyRollupModel::getDay))
+            .toList();
+    }
+}
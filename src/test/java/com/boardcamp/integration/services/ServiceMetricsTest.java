@@ -0,0 +1,158 @@
+package com.boardcamp.integration.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.boardcamp.dtos.CustomerDTO;
+import com.boardcamp.dtos.RentalDTO;
+import com.boardcamp.metrics.ServiceMetricsAspect;
+import com.boardcamp.metrics.TimedJacksonHttpMessageConverter;
+import com.boardcamp.models.CustomerModel;
+import com.boardcamp.models.GameModel;
+import com.boardcamp.repositories.CustomerRepository;
+import com.boardcamp.repositories.GameRepository;
+import com.boardcamp.repositories.RentalRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// @AutoConfigureObservability liga o registro Prometheus, desligado por padrão nos testes
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class ServiceMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    private CustomerModel customer;
+    private GameModel game;
+
+    @BeforeEach
+    void setUp() {
+        rentalRepository.deleteAll();
+        customerRepository.deleteAll();
+        gameRepository.deleteAll();
+
+        customer = customerRepository.save(new CustomerModel(null, "Cliente Teste", "11999999999", "52998224725"));
+        game = gameRepository.save(new GameModel(null, "Jogo Teste", "http://image.url", 1, 1500));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rentalRepository.deleteAll();
+    }
+
+    @Test
+    void rentalEndpoints_RecordServiceTimersByOutcome() throws Exception {
+        long created = serviceCount("createRental", "created");
+        long noStock = serviceCount("createRental", "no-stock");
+        long notFound = serviceCount("createRental", "not-found");
+
+        createRental(new RentalDTO(customer.getId(), game.getId(), 2)).andExpect(status().isCreated());
+        createRental(new RentalDTO(customer.getId(), game.getId(), 2)).andExpect(status().isUnprocessableEntity());
+        createRental(new RentalDTO(999L, game.getId(), 2)).andExpect(status().isNotFound());
+
+        assertEquals(created + 1, serviceCount("createRental", "created"));
+        assertEquals(noStock + 1, serviceCount("createRental", "no-stock"));
+        assertEquals(notFound + 1, serviceCount("createRental", "not-found"));
+    }
+
+    @Test
+    void duplicateCustomer_RecordsConflictOutcome() throws Exception {
+        long conflicts = serviceCount("createCustomer", "conflict");
+
+        mockMvc.perform(post("/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CustomerDTO("Outro", "11988887777", customer.getCpf()))))
+                .andExpect(status().isConflict());
+
+        assertEquals(conflicts + 1, serviceCount("createCustomer", "conflict"));
+    }
+
+    @Test
+    void untimedMethods_DoNotRecordServiceTimers() throws Exception {
+        mockMvc.perform(get("/games")).andExpect(status().isOk());
+        mockMvc.perform(post("/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new CustomerDTO("Outro", "11988887777", customer.getCpf()))))
+                .andExpect(status().isConflict());
+
+        assertNull(registry.find(ServiceMetricsAspect.METRIC_NAME).tag("method", "catalogSnapshot").timer());
+        assertNull(registry.find(ServiceMetricsAspect.METRIC_NAME).tag("method", "validationError").timer());
+        assertNotNull(registry.find(ServiceMetricsAspect.METRIC_NAME).tag("method", "createCustomer").timer());
+    }
+
+    @Test
+    void listCustomers_SeparatesRepositoryAndSerializationTime() throws Exception {
+        mockMvc.perform(get("/customers")).andExpect(status().isOk());
+
+        Timer repository = registry.find("spring.data.repository.invocations")
+                .tags("repository", "CustomerRepository", "method", "findAllViews")
+                .timer();
+        Timer serialization = registry.find(TimedJacksonHttpMessageConverter.METRIC_NAME)
+                .tag("type", "List<CustomerResponseDTO>")
+                .timer();
+        assertNotNull(repository);
+        assertNotNull(serialization);
+        assertTrue(serialization.count() >= 1);
+    }
+
+    @Test
+    void prometheusEndpoint_ExposesHistogramBuckets() throws Exception {
+        createRental(new RentalDTO(customer.getId(), game.getId(), 2)).andExpect(status().isCreated());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString("boardcamp_service_seconds_bucket")))
+                .andExpect(content().string(Matchers.containsString("outcome=\"created\"")))
+                .andExpect(content().string(Matchers.containsString("spring_data_repository_invocations_seconds_bucket")))
+                .andExpect(content().string(Matchers.containsString("boardcamp_http_serialization_seconds_bucket")));
+    }
+
+    private ResultActions createRental(RentalDTO dto) throws Exception {
+        return mockMvc.perform(post("/rentals")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)));
+    }
+
+    private long serviceCount(String method, String outcome) {
+        Timer timer = registry.find(ServiceMetricsAspect.METRIC_NAME)
+                .tags("method", method, "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,186 @@
+package com.boardcamp.integration.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.boardcamp.dtos.RentalDTO;
+import com.boardcamp.exceptions.BusinessException;
+import com.boardcamp.exceptions.ErrorCode;
+import com.boardcamp.models.CustomerModel;
+import com.boardcamp.models.GameModel;
+import com.boardcamp.models.RentalModel;
+import com.boardcamp.repositories.CustomerRepository;
+import com.boardcamp.repositories.GameRepository;
+import com.boardcamp.repositories.RentalRepository;
+import com.boardcamp.services.RentalService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class StockReservationConcurrencyTest {
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationConcurrencyTest.class);
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    private CustomerModel customer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        rentalRepository.deleteAll();
+        customerRepository.deleteAll();
+        gameRepository.deleteAll();
+
+        customer = customerRepository.save(
+            new CustomerModel(null, "Cliente Teste", "11999999999", "12345678901"));
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void createRental_ConcurrentlyOnSameGame_ShouldNeverOversell() throws Exception {
+
+        int stock = 5;
+        GameModel game = gameRepository.save(
+            new GameModel(null, "Jogo Disputado", "http://image.url", stock, 1500));
+
+        int created = hammer(game, THREADS);
+
+        assertEquals(stock, created);
+        assertEquals(stock, rentalRepository.countByGameAndReturnDateIsNull(game));
+        assertEquals(0, gameRepository.findStockAvailableById(game.getId()));
+    }
+
+    @Test
+    void finalizeRental_AfterConcurrentReservations_ShouldReleaseStock() throws Exception {
+
+        GameModel game = gameRepository.save(
+            new GameModel(null, "Jogo Devolvido", "http://image.url", 3, 1500));
+        hammer(game, THREADS);
+
+        List<RentalModel> open = rentalRepository.findAll();
+        for (RentalModel rental : open) {
+            rentalService.finalizeRental(rental.getId());
+        }
+
+        assertEquals(3, gameRepository.findStockAvailableById(game.getId()));
+        assertEquals(0, rentalRepository.countByGameAndReturnDateIsNull(game));
+    }
+
+    @Test
+    void finalizeRental_ConcurrentlyOnSameRental_ShouldReleaseStockOnce() throws Exception {
+
+        GameModel game = gameRepository.save(
+            new GameModel(null, "Jogo Disputado na Devolução", "http://image.url", 2, 1500));
+        Long first = rentalService.createRental(new RentalDTO(customer.getId(), game.getId(), 3)).getId();
+        rentalService.createRental(new RentalDTO(customer.getId(), game.getId(), 3));
+
+        AtomicInteger returned = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    rentalService.finalizeRental(first);
+                    returned.incrementAndGet();
+                } catch (BusinessException e) {
+                    assertEquals(ErrorCode.RENTAL_ALREADY_RETURNED, e.getCode());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, returned.get());
+        assertEquals(1, gameRepository.findStockAvailableById(game.getId()));
+        assertEquals(1, rentalRepository.countByGameAndReturnDateIsNull(game));
+    }
+
+    @Test
+    void createRental_WithEnoughStock_ShouldScaleWithThreads() throws Exception {
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        GameModel single = gameRepository.save(
+            new GameModel(null, "Jogo Sequencial", "http://image.url", attempts, 1500));
+        GameModel parallel = gameRepository.save(
+            new GameModel(null, "Jogo Paralelo", "http://image.url", attempts, 1500));
+
+        long start = System.nanoTime();
+        int createdSingle = hammer(single, 1);
+        double singleThroughput = createdSingle / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        int createdParallel = hammer(parallel, THREADS);
+        double parallelThroughput = createdParallel / ((System.nanoTime() - start) / 1e9);
+
+        logger.info("Reservas/s com 1 thread: {}, com {} threads: {}",
+            Math.round(singleThroughput), THREADS, Math.round(parallelThroughput));
+        assertEquals(attempts, createdSingle);
+        assertEquals(attempts, createdParallel);
+    }
+
+    private int hammer(GameModel game, int threads) throws Exception {
+        int attemptsPerThread = THREADS * ATTEMPTS_PER_THREAD / threads;
+        AtomicInteger created = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    try {
+                        rentalService.createRental(new RentalDTO(customer.getId(), game.getId(), 3));
+                        created.incrementAndGet();
+                    } catch (BusinessException e) {
+                        assertEquals(ErrorCode.NO_STOCK, e.getCode());
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        return created.get();
+    }
+}
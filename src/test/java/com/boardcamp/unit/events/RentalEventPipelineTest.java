@@ -0,0 +1,176 @@
+package com.boardcamp.unit.events;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.boardcamp.events.RentalEvent;
+import com.boardcamp.events.RentalEventListener;
+import com.boardcamp.events.RentalEventPipeline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class RentalEventPipelineTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RentalEventPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null && pipeline.isRunning()) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void offer_DeliversEveryEventInOrderAndInBatches() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder recorder = new Recorder(release);
+        pipeline = start(Map.of("recorder", recorder), 100, 10);
+
+        for (long id = 1; id <= 50; id++) {
+            assertTrue(pipeline.offer(List.of(event(id))));
+        }
+        release.countDown();
+        pipeline.stop();
+
+        assertEquals(50, recorder.received.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i + 1L, recorder.received.get(i).rentalId());
+        }
+        // O primeiro lote fica preso no latch enquanto os outros acumulam na fila
+        assertTrue(recorder.batchSizes.size() < 50);
+        assertTrue(recorder.batchSizes.stream().allMatch(size -> size <= 10));
+    }
+
+    @Test
+    void offer_WithAFullQueue_RefusesTheWholeBatchForEveryListener() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder slow = new Recorder(release);
+        Recorder fast = new Recorder(null);
+        Map<String, Object> listeners = new LinkedHashMap<>();
+        listeners.put("slow", slow);
+        listeners.put("fast", fast);
+        pipeline = start(listeners, 2, 10);
+
+        assertTrue(pipeline.offer(List.of(event(1))));
+        // Os dois consumidores já tiraram o evento 1 da fila; o lento fica preso nele
+        assertTrue(slow.started.await(5, TimeUnit.SECONDS));
+        assertTrue(fast.started.await(5, TimeUnit.SECONDS));
+        assertTrue(pipeline.offer(List.of(event(2), event(3))));
+        assertFalse(pipeline.hasRoomFor(1));
+        assertFalse(pipeline.offer(List.of(event(4))));
+
+        release.countDown();
+        pipeline.stop();
+        assertEquals(List.of(1L, 2L, 3L), slow.received.stream().map(RentalEvent::rentalId).toList());
+        assertEquals(List.of(1L, 2L, 3L), fast.received.stream().map(RentalEvent::rentalId).toList());
+    }
+
+    @Test
+    void offer_WhenStopped_RefusesInsteadOfDeliveringOnTheCallerThread() {
+        Recorder recorder = new Recorder(null);
+        pipeline = start(Map.of("recorder", recorder), 100, 10);
+        pipeline.stop();
+
+        assertFalse(pipeline.offer(List.of(event(1))));
+        assertTrue(recorder.received.isEmpty());
+    }
+
+    @Test
+    void stop_DrainsQueuedEventsBeforeReturning() {
+        Recorder slow = new Recorder(null) {
+            @Override
+            public void onEvents(List<RentalEvent> events) {
+                sleep(5);
+                super.onEvents(events);
+            }
+        };
+        pipeline = start(Map.of("slow", slow), 1000, 5);
+
+        for (long id = 1; id <= 200; id++) {
+            assertTrue(pipeline.offer(List.of(event(id))));
+        }
+        pipeline.stop();
+
+        assertEquals(200, slow.received.size());
+        assertEquals(0, pipeline.pendingCount());
+    }
+
+    @Test
+    void failingListener_DoesNotAffectOtherListeners() {
+        RentalEventListener failing = events -> {
+            throw new IllegalStateException("falha");
+        };
+        Recorder recorder = new Recorder(null);
+        Map<String, Object> listeners = new LinkedHashMap<>();
+        listeners.put("failing", failing);
+        listeners.put("recorder", recorder);
+        pipeline = start(listeners, 100, 10);
+
+        for (long id = 1; id <= 20; id++) {
+            assertTrue(pipeline.offer(List.of(event(id))));
+        }
+        pipeline.stop();
+
+        assertEquals(20, recorder.received.size());
+    }
+
+    private RentalEventPipeline start(Map<String, Object> listeners, int capacity, int batchSize) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(listeners);
+        RentalEventPipeline started = new RentalEventPipeline(beans.getBeanProvider(RentalEventListener.class),
+                registry, capacity, batchSize, 10_000);
+        started.start();
+        return started;
+    }
+
+    private static RentalEvent event(long rentalId) {
+        return new RentalEvent(RentalEvent.Type.RETURNED, rentalId, 1L, 1L, LocalDate.now().minusDays(3), 3,
+                LocalDate.now(), 4500, 0, Instant.now());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Recorder implements RentalEventListener {
+        final List<RentalEvent> received = Collections.synchronizedList(new ArrayList<>());
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release;
+
+        Recorder(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onEvents(List<RentalEvent> events) {
+            started.countDown();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            batchSizes.add(events.size());
+            received.addAll(events);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.boardcamp.unit.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.boardcamp.dtos.CustomerResponseDTO;
+import com.boardcamp.models.CustomerModel;
+import com.boardcamp.repositories.CatalogStamp;
+import com.boardcamp.repositories.CustomerRepository;
+import com.boardcamp.services.CustomerSearchIndex;
+
+public class CustomerSearchIndexTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private CustomerSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        index = new CustomerSearchIndex(customerRepository, transactionTemplate);
+    }
+
+    @Test
+    void warmUp_ShouldKeepCustomersRegisteredAfterTheCursorPassed() {
+        // Arrange
+        CustomerModel ana = new CustomerModel(1L, "Ana Souza", "11999990001", "52998224725");
+        CustomerModel bruno = new CustomerModel(2L, "Bruno Lima", "11999990002", "11144477735");
+        index.register(ana);
+        when(customerRepository.streamAllViews()).thenAnswer(invocation -> {
+            // O cursor já passou da linha do Bruno quando o cadastro dele acontece
+            index.register(bruno);
+            return Stream.of(CustomerResponseDTO.from(ana));
+        });
+
+        // Act
+        index.warmUp();
+
+        // Assert
+        assertEquals(List.of(2L), ids(index.search("bruno", 10)));
+        assertEquals(List.of(1L), ids(index.search("ana", 10)));
+        // Ana veio da carga e saiu dos recentes; Bruno continua lá (nome inteiro, sobrenome, telefone e CPF)
+        assertEquals(8, index.size());
+
+        index.compact();
+        assertEquals(List.of(2L), ids(index.search("bruno", 10)));
+        assertEquals(8, index.size());
+    }
+
+    @Test
+    void rewarm_ShouldLoadCustomersRegisteredOnOtherInstances() {
+        // Arrange
+        CustomerResponseDTO ana = new CustomerResponseDTO(1L, "Ana Souza", "11999990001", "52998224725");
+        // Outra instância cadastra com id de um bloco anterior ao maior id já carregado
+        CustomerResponseDTO carla = new CustomerResponseDTO(51L, "Carla Dias", "11999990003", "39053344705");
+        CustomerResponseDTO bruno = new CustomerResponseDTO(2L, "Bruno Lima", "11999990002", "11144477735");
+        when(customerRepository.findCatalogStamp())
+            .thenReturn(new CatalogStamp(2L, 51L), new CatalogStamp(2L, 51L), new CatalogStamp(3L, 51L));
+        when(customerRepository.streamAllViews())
+            .thenReturn(Stream.of(ana, carla), Stream.of(ana, carla, bruno));
+        index.warmUp();
+
+        // Act
+        index.rewarm();
+        assertEquals(List.of(), ids(index.search("bruno", 10)));
+        index.rewarm();
+
+        // Assert
+        assertEquals(List.of(2L), ids(index.search("bruno", 10)));
+        verify(customerRepository, times(2)).streamAllViews();
+    }
+
+    private static List<Long> ids(List<CustomerResponseDTO> customers) {
+        return customers.stream().map(CustomerResponseDTO::id).toList();
+    }
+}
@@ -14,12 +14,16 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.web.server.ResponseStatusException;
 
 import com.boardcamp.dtos.CustomerDTO;
+import com.boardcamp.dtos.CustomerResponseDTO;
+import com.boardcamp.exceptions.BusinessException;
+import com.boardcamp.exceptions.ErrorCode;
 import com.boardcamp.models.CustomerModel;
 import com.boardcamp.repositories.CustomerRepository;
+import com.boardcamp.services.CustomerSearchIndex;
 import com.boardcamp.services.CustomerService;
+import com.boardcamp.services.TableVersions;
 
 class CustomerServiceTest {
 
@@ -29,6 +33,12 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private CustomerSearchIndex searchIndex;
+
+    @Mock
+    private TableVersions tableVersions;
+
     private CustomerDTO validCustomerDTO;
     private CustomerModel validCustomerModel;
 
@@ -36,57 +46,58 @@ class CustomerServiceTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
-        validCustomerDTO = new CustomerDTO("João Silva", "11999999999", "12345678901");
-        validCustomerModel = new CustomerModel(1L, "João Silva", "11999999999", "12345678901");
+        validCustomerDTO = new CustomerDTO("João Silva", "11999999999", "52998224725");
+        validCustomerModel = new CustomerModel(1L, "João Silva", "11999999999", "52998224725");
     }
 
     @Test
     void listCustomers_ShouldReturnAllCustomers() {
       
-        List<CustomerModel> expectedCustomers = Arrays.asList(
-            new CustomerModel(1L, "João Silva", "11999999999", "12345678901"),
-            new CustomerModel(2L, "Maria Oliveira", "21988888888", "98765432109")
+        List<CustomerResponseDTO> expectedCustomers = Arrays.asList(
+            new CustomerResponseDTO(1L, "João Silva", "11999999999", "52998224725"),
+            new CustomerResponseDTO(2L, "Maria Oliveira", "21988888888", "98765432100")
         );
         
-        when(customerRepository.findAll()).thenReturn(expectedCustomers);
+        when(customerRepository.findAllViews()).thenReturn(expectedCustomers);
 
-        List<CustomerModel> result = customerService.listCustomers();
+        List<CustomerResponseDTO> result = customerService.listCustomers();
 
         assertEquals(expectedCustomers.size(), result.size());
         assertEquals(expectedCustomers, result);
-        verify(customerRepository, times(1)).findAll();
+        verify(customerRepository, times(1)).findAllViews();
     }
 
     @Test
     void getCustomer_WithValidId_ShouldReturnCustomer() {
        
         Long customerId = 1L;
-        when(customerRepository.findById(customerId)).thenReturn(Optional.of(validCustomerModel));
+        when(customerRepository.findViewById(customerId))
+            .thenReturn(Optional.of(CustomerResponseDTO.from(validCustomerModel)));
 
      
-        CustomerModel result = customerService.getCustomer(customerId);
+        CustomerResponseDTO result = customerService.getCustomer(customerId);
 
        
         assertNotNull(result);
-        assertEquals(customerId, result.getId());
-        assertEquals(validCustomerModel.getName(), result.getName());
-        verify(customerRepository, times(1)).findById(customerId);
+        assertEquals(customerId, result.id());
+        assertEquals(validCustomerModel.getName(), result.name());
+        verify(customerRepository, times(1)).findViewById(customerId);
     }
 
     @Test
     void getCustomer_WithInvalidId_ShouldThrowException() {
        
         Long invalidId = 999L;
-        when(customerRepository.findById(invalidId)).thenReturn(Optional.empty());
+        when(customerRepository.findViewById(invalidId)).thenReturn(Optional.empty());
 
        
-        ResponseStatusException exception = assertThrows(
-            ResponseStatusException.class,
+        BusinessException exception = assertThrows(
+            BusinessException.class,
             () -> customerService.getCustomer(invalidId)
         );
         
         assertTrue(exception.getMessage().contains("Cliente não encontrado"));
-        verify(customerRepository, times(1)).findById(invalidId);
+        verify(customerRepository, times(1)).findViewById(invalidId);
     }
 
     @Test
@@ -105,6 +116,7 @@ class CustomerServiceTest {
         assertEquals(validCustomerModel.getCpf(), result.getCpf());
         verify(customerRepository, times(1)).existsByCpf(validCustomerDTO.getCpf());
         verify(customerRepository, times(1)).save(any(CustomerModel.class));
+        verify(tableVersions, times(1)).bump(TableVersions.Table.CUSTOMERS);
     }
 
     @Test
@@ -113,8 +125,8 @@ class CustomerServiceTest {
         when(customerRepository.existsByCpf(validCustomerDTO.getCpf())).thenReturn(true);
 
        
-        ResponseStatusException exception = assertThrows(
-            ResponseStatusException.class,
+        BusinessException exception = assertThrows(
+            BusinessException.class,
             () -> customerService.createCustomer(validCustomerDTO)
         );
         
@@ -123,14 +135,29 @@ class CustomerServiceTest {
         verify(customerRepository, never()).save(any(CustomerModel.class));
     }
 
+    @Test
+    void createCustomer_WithWrongCpfCheckDigits_ShouldThrowException() {
+
+        CustomerDTO invalidDTO = new CustomerDTO("João Silva", "11999999999", "52998224724");
+
+
+        BusinessException exception = assertThrows(
+            BusinessException.class,
+            () -> customerService.createCustomer(invalidDTO)
+        );
+
+        assertEquals(ErrorCode.INVALID_CPF, exception.getCode());
+        verify(customerRepository, never()).existsByCpf(anyString());
+    }
+
     @Test
     void createCustomer_WithInvalidCpf_ShouldThrowException() {
       
         CustomerDTO invalidDTO = new CustomerDTO("João Silva", "11999999999", "123");
 
        
-        ResponseStatusException exception = assertThrows(
-            ResponseStatusException.class,
+        BusinessException exception = assertThrows(
+            BusinessException.class,
             () -> customerService.createCustomer(invalidDTO)
         );
         
@@ -138,4 +165,29 @@ class CustomerServiceTest {
         verify(customerRepository, never()).existsByCpf(anyString());
         verify(customerRepository, never()).save(any(CustomerModel.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchCustomers_ShouldUseDefaultLimit() {
+
+        when(searchIndex.search("jo", CustomerService.DEFAULT_SEARCH_SIZE)).thenReturn(List.of());
+
+
+        customerService.searchCustomers("jo", null);
+
+
+        verify(searchIndex, times(1)).search("jo", CustomerService.DEFAULT_SEARCH_SIZE);
+    }
+
+    @Test
+    void searchCustomers_WithBlankQueryOrInvalidLimit_ShouldThrowException() {
+
+        BusinessException blank = assertThrows(BusinessException.class,
+            () -> customerService.searchCustomers("  ", null));
+        BusinessException tooMany = assertThrows(BusinessException.class,
+            () -> customerService.searchCustomers("jo", CustomerService.MAX_SEARCH_SIZE + 1));
+
+        assertEquals(ErrorCode.INVALID_QUERY, blank.getCode());
+        assertEquals(ErrorCode.INVALID_LIMIT, tooMany.getCode());
+        verifyNoInteractions(searchIndex);
+    }
+}
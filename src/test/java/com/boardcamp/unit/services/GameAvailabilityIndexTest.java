@@ -0,0 +1,141 @@
+package com.boardcamp.unit.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.boardcamp.repositories.GameRepository;
+import com.boardcamp.repositories.GameStockView;
+import com.boardcamp.services.GameAvailabilityIndex;
+
+public class GameAvailabilityIndexTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    private GameAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        index = new GameAvailabilityIndex(gameRepository);
+    }
+
+    @Test
+    void warmUp_ShouldLoadStockFromGroupedQuery() {
+        // Arrange
+        when(gameRepository.findStockSummary()).thenReturn(List.of(view(1L, 2, 2L), view(2L, 3, 1L)));
+
+        // Act
+        index.warmUp();
+
+        // Assert
+        assertTrue(index.isKnownOutOfStock(1L));
+        assertFalse(index.isKnownOutOfStock(2L));
+        assertArrayEquals(new long[] {2L}, index.availableGameIds());
+        verify(gameRepository, times(1)).findStockSummary();
+    }
+
+    @Test
+    void warmUp_ShouldKeepChangesMadeWhileLoading() {
+        // Arrange
+        index.register(1L, 2);
+        when(gameRepository.findStockSummary()).thenAnswer(invocation -> {
+            // Depois da leitura do banco e antes da troca da tabela
+            index.rentalOpened(1L);
+            index.register(3L, 1);
+            return List.of(view(1L, 2, 1L), view(2L, 1, 0L));
+        });
+
+        // Act
+        index.warmUp();
+
+        // Assert
+        assertTrue(index.isKnownOutOfStock(1L));
+        assertFalse(index.isKnownOutOfStock(3L));
+        long[] available = index.availableGameIds();
+        Arrays.sort(available);
+        assertArrayEquals(new long[] {2L, 3L}, available);
+
+        // Sem carga em andamento as mudanças vão direto para a tabela
+        index.rentalClosed(1L);
+        assertFalse(index.isKnownOutOfStock(1L));
+    }
+
+    @Test
+    void rewarm_ShouldPickUpRentalsMadeOnOtherInstances() {
+        // Arrange
+        when(gameRepository.findStockSummary())
+            .thenReturn(List.of(view(1L, 1, 0L)))
+            .thenReturn(List.of(view(1L, 1, 1L)));
+        index.warmUp();
+        assertArrayEquals(new long[] {1L}, index.availableGameIds());
+
+        // Act
+        index.rewarm();
+
+        // Assert
+        assertTrue(index.isKnownOutOfStock(1L));
+        assertArrayEquals(new long[0], index.availableGameIds());
+        verify(gameRepository, times(2)).findStockSummary();
+    }
+
+    @Test
+    void isKnownOutOfStock_WithUnknownGame_ShouldReturnFalse() {
+        assertFalse(index.isKnownOutOfStock(42L));
+    }
+
+    @Test
+    void rentalOpenedAndClosed_ShouldTrackOpenRentals() {
+        // Arrange
+        index.register(7L, 1);
+
+        // Act & Assert
+        index.rentalOpened(7L);
+        assertTrue(index.isKnownOutOfStock(7L));
+        assertEquals(0, index.availableGameIds().length);
+
+        index.rentalClosed(7L);
+        assertFalse(index.isKnownOutOfStock(7L));
+        assertArrayEquals(new long[] {7L}, index.availableGameIds());
+    }
+
+    @Test
+    void register_BeyondInitialCapacity_ShouldKeepAllGames() {
+        // Arrange & Act
+        for (long id = 1; id <= 1000; id++) {
+            index.register(id, 1);
+        }
+        index.rentalOpened(500L);
+
+        // Assert
+        long[] available = index.availableGameIds();
+        Arrays.sort(available);
+        assertEquals(999, available.length);
+        assertTrue(index.isKnownOutOfStock(500L));
+        assertFalse(index.isKnownOutOfStock(1000L));
+    }
+
+    private GameStockView view(Long gameId, Integer stockTotal, Long openRentals) {
+        return new GameStockView() {
+            public Long getGameId() {
+                return gameId;
+            }
+
+            public Integer getStockTotal() {
+                return stockTotal;
+            }
+
+            public Long getOpenRentals() {
+                return openRentals;
+            }
+        };
+    }
+}
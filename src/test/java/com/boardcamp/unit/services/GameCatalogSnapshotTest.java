@@ -0,0 +1,94 @@
+package com.boardcamp.unit.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.boardcamp.dtos.GameResponseDTO;
+import com.boardcamp.repositories.CatalogStamp;
+import com.boardcamp.repositories.GameRepository;
+import com.boardcamp.services.GameCatalogSnapshot;
+import com.boardcamp.services.TableVersions;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class GameCatalogSnapshotTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    private GameCatalogSnapshot catalogSnapshot;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        catalogSnapshot = new GameCatalogSnapshot(gameRepository, new TableVersions(), new ObjectMapper(),
+            Jackson2ObjectMapperBuilder.json());
+    }
+
+    @Test
+    void current_BeforeStartup_ShouldNotQueryTheDatabase() {
+        assertThrows(IllegalStateException.class, catalogSnapshot::current);
+        verify(gameRepository, never()).findAllViews();
+    }
+
+    @Test
+    void afterSingletonsInstantiated_ShouldLoadTheCatalogOnce() {
+        // Arrange
+        when(gameRepository.findAllViews())
+            .thenReturn(List.of(new GameResponseDTO(1L, "Catan", "http://image.url", 2, 3000)));
+
+        // Act
+        catalogSnapshot.afterSingletonsInstantiated();
+        GameCatalogSnapshot.Snapshot first = catalogSnapshot.current();
+        GameCatalogSnapshot.Snapshot second = catalogSnapshot.current();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(200, first.json().getStatusCode().value());
+        verify(gameRepository, times(1)).findAllViews();
+    }
+
+    @Test
+    void refresh_WhenTheDatabaseMatches_ShouldKeepTheSnapshot() {
+        // Arrange
+        when(gameRepository.findAllViews())
+            .thenReturn(List.of(new GameResponseDTO(1L, "Catan", "http://image.url", 2, 3000)));
+        when(gameRepository.findCatalogStamp()).thenReturn(new CatalogStamp(1L, 1L));
+        catalogSnapshot.afterSingletonsInstantiated();
+        GameCatalogSnapshot.Snapshot loaded = catalogSnapshot.current();
+
+        // Act
+        catalogSnapshot.refresh();
+
+        // Assert
+        assertSame(loaded, catalogSnapshot.current());
+        verify(gameRepository, times(1)).findAllViews();
+    }
+
+    @Test
+    void refresh_AfterAnotherInstanceAddsAGame_ShouldReloadWithANewEtag() {
+        // Arrange
+        GameResponseDTO catan = new GameResponseDTO(1L, "Catan", "http://image.url", 2, 3000);
+        GameResponseDTO azul = new GameResponseDTO(2L, "Azul", "http://image.url", 1, 2500);
+        when(gameRepository.findAllViews()).thenReturn(List.of(catan), List.of(catan, azul));
+        when(gameRepository.findCatalogStamp()).thenReturn(new CatalogStamp(2L, 2L));
+        catalogSnapshot.afterSingletonsInstantiated();
+        GameCatalogSnapshot.Snapshot loaded = catalogSnapshot.current();
+
+        // Act
+        catalogSnapshot.refresh();
+
+        // Assert
+        GameCatalogSnapshot.Snapshot refreshed = catalogSnapshot.current();
+        assertNotEquals(loaded.etag(false), refreshed.etag(false));
+        assertTrue(new String(refreshed.json().getBody()).contains("Azul"));
+        verify(gameRepository, times(2)).findAllViews();
+    }
+}
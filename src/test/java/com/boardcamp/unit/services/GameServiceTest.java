@@ -5,7 +5,6 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
-import java.util.Arrays;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -13,11 +12,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.web.server.ResponseStatusException;
 
 import com.boardcamp.dtos.GameDTO;
+import com.boardcamp.dtos.GameResponseDTO;
+import com.boardcamp.exceptions.BusinessException;
 import com.boardcamp.models.GameModel;
 import com.boardcamp.repositories.GameRepository;
+import com.boardcamp.services.GameAvailabilityIndex;
+import com.boardcamp.services.GameCatalogSnapshot;
+import com.boardcamp.services.GameSearchIndex;
 import com.boardcamp.services.GameService;
 
 public class GameServiceTest {
@@ -28,6 +31,15 @@ public class GameServiceTest {
     @Mock
     private GameRepository gameRepository;
 
+    @Mock
+    private GameAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private GameSearchIndex searchIndex;
+
+    @Mock
+    private GameCatalogSnapshot catalogSnapshot;
+
     private GameDTO validGameDTO;
     private GameModel validGameModel;
 
@@ -39,25 +51,6 @@ public class GameServiceTest {
         validGameModel = new GameModel(1L, "Monopoly", "http://image.url", 5, 1500);
     }
 
-    @Test
-    void listGames_ShouldReturnAllGames() {
-        // Arrange
-        List<GameModel> expectedGames = Arrays.asList(
-            new GameModel(1L, "Monopoly", "http://image1.url", 5, 1500),
-            new GameModel(2L, "Xadrez", "http://image2.url", 10, 2000)
-        );
-        
-        when(gameRepository.findAll()).thenReturn(expectedGames);
-
-        // Act
-        List<GameModel> result = gameService.listGames();
-
-        // Assert
-        assertEquals(expectedGames.size(), result.size());
-        assertEquals(expectedGames, result);
-        verify(gameRepository, times(1)).findAll();
-    }
-
     @Test
     void addGame_WithValidData_ShouldReturnCreatedGame() {
         // Arrange
@@ -75,6 +68,36 @@ public class GameServiceTest {
         assertEquals(validGameModel.getPricePerDay(), result.getPricePerDay());
         verify(gameRepository, times(1)).existsByName(validGameDTO.getName());
         verify(gameRepository, times(1)).save(any(GameModel.class));
+        verify(availabilityIndex, times(1)).register(validGameModel.getId(), validGameModel.getStockTotal());
+        verify(catalogSnapshot, times(1)).add(validGameModel);
+    }
+
+    @Test
+    void listAvailableGames_ShouldLoadOnlyIdsFromIndex() {
+        // Arrange
+        when(availabilityIndex.availableGameIds()).thenReturn(new long[] {1L});
+        GameResponseDTO available = GameResponseDTO.from(validGameModel);
+        when(gameRepository.findViewsByIdIn(List.of(1L))).thenReturn(List.of(available));
+
+        // Act
+        List<GameResponseDTO> result = gameService.listAvailableGames();
+
+        // Assert
+        assertEquals(List.of(available), result);
+        verify(gameRepository, never()).findAllViews();
+    }
+
+    @Test
+    void listAvailableGames_WithNoStock_ShouldNotQueryRepository() {
+        // Arrange
+        when(availabilityIndex.availableGameIds()).thenReturn(new long[0]);
+
+        // Act
+        List<GameResponseDTO> result = gameService.listAvailableGames();
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(gameRepository);
     }
 
     @Test
@@ -83,8 +106,8 @@ public class GameServiceTest {
         when(gameRepository.existsByName(validGameDTO.getName())).thenReturn(true);
 
         // Act & Assert
-        ResponseStatusException exception = assertThrows(
-            ResponseStatusException.class,
+        BusinessException exception = assertThrows(
+            BusinessException.class,
             () -> gameService.addGame(validGameDTO)
         );
         
@@ -99,8 +122,8 @@ public class GameServiceTest {
         GameDTO invalidDTO = new GameDTO(null, "http://image.url", 5, 1500);
 
         // Act & Assert
-        ResponseStatusException exception = assertThrows(
-            ResponseStatusException.class,
+        BusinessException exception = assertThrows(
+            BusinessException.class,
             () -> gameService.addGame(invalidDTO)
         );
         
@@ -115,8 +138,8 @@ public class GameServiceTest {
         GameDTO invalidDTO = new GameDTO("Monopoly", "http://image.url", 0, 1500);
 
         // Act & Assert
-        ResponseStatusException exception = assertThrows(
-            ResponseStatusException.class,
+        BusinessException exception = assertThrows(
+            BusinessException.class,
             () -> gameService.addGame(invalidDTO)
         );
         
@@ -131,8 +154,8 @@ public class GameServiceTest {
         GameDTO invalidDTO = new GameDTO("Monopoly", "http://image.url", 5, 0);
 
         // Act & Assert
-        ResponseStatusException exception = assertThrows(
-            ResponseStatusException.class,
+        BusinessException exception = assertThrows(
+            BusinessException.class,
             () -> gameService.addGame(invalidDTO)
         );
         
@@ -140,4 +163,24 @@ public class GameServiceTest {
         verify(gameRepository, never()).existsByName(anyString());
         verify(gameRepository, never()).save(any(GameModel.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchGames_WithInvertedPriceRange_ShouldThrowException() {
+        BusinessException exception = assertThrows(
+            BusinessException.class,
+            () -> gameService.searchGames("catan", 2000, 1000, null, null)
+        );
+
+        assertTrue(exception.getMessage().contains("Preço inválido"));
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    void searchGames_ShouldDelegateToIndexWithDefaultLimit() {
+        when(searchIndex.search("catan", null, 1500, true, GameService.DEFAULT_SEARCH_SIZE)).thenReturn(List.of());
+
+        gameService.searchGames("catan", null, 1500, true, null);
+
+        verify(searchIndex).search("catan", null, 1500, true, GameService.DEFAULT_SEARCH_SIZE);
+    }
+}
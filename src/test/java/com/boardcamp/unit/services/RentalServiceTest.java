@@ -2,6 +2,11 @@ package com.boardcamp.unit.services;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDate;
@@ -14,16 +19,28 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.web.server.ResponseStatusException;
 
+import com.boardcamp.dtos.CustomerResponseDTO;
+import com.boardcamp.dtos.GameResponseDTO;
 import com.boardcamp.dtos.RentalDTO;
+import com.boardcamp.dtos.RentalFilterDTO;
+import com.boardcamp.dtos.RentalPageDTO;
+import com.boardcamp.dtos.RentalResponseDTO;
+import com.boardcamp.events.RentalEvent;
+import com.boardcamp.exceptions.BusinessException;
+import com.boardcamp.exceptions.ErrorCode;
 import com.boardcamp.models.CustomerModel;
 import com.boardcamp.models.GameModel;
 import com.boardcamp.models.RentalModel;
+import com.boardcamp.models.RentalOutboxModel;
 import com.boardcamp.repositories.CustomerRepository;
 import com.boardcamp.repositories.GameRepository;
+import com.boardcamp.repositories.RentalOutboxRepository;
 import com.boardcamp.repositories.RentalRepository;
+import com.boardcamp.services.GameAvailabilityIndex;
+import com.boardcamp.services.RentalRollupService;
 import com.boardcamp.services.RentalService;
+import com.boardcamp.services.StockService;
 
 public class RentalServiceTest {
 
@@ -39,6 +56,18 @@ public class RentalServiceTest {
     @Mock
     private GameRepository gameRepository;
 
+    @Mock
+    private StockService stockService;
+
+    @Mock
+    private GameAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private RentalRollupService rollupService;
+
+    @Mock
+    private RentalOutboxRepository outboxRepository;
+
     private RentalDTO validRentalDTO;
     private CustomerModel customer;
     private GameModel game;
@@ -61,26 +90,106 @@ public class RentalServiceTest {
     }
 
     @Test
-    void listRentals_ShouldReturnAllRentals() {
+    void listRentals_ShouldReturnRentalsWithoutNextCursorOnLastPage() {
+        // Arrange
+        List<RentalResponseDTO> expectedRentals = Arrays.asList(view(1L), view(2L));
+        when(rentalRepository.findViews(any(), eq(false), eq(false), eq(RentalService.DEFAULT_PAGE_SIZE + 1)))
+            .thenReturn(expectedRentals);
+
+        // Act
+        RentalPageDTO result = rentalService.listRentals(new RentalFilterDTO());
+
+        // Assert
+        assertEquals(expectedRentals, result.getRentals());
+        assertNull(result.getNextCursor());
+        verify(rentalRepository, never()).findAll();
+    }
+
+    @Test
+    void listRentals_WithMoreRowsThanLimit_ShouldReturnNextCursor() {
         // Arrange
-        List<RentalModel> expectedRentals = Arrays.asList(validRentalModel, finishedRentalModel);
-        when(rentalRepository.findAll()).thenReturn(expectedRentals);
+        when(rentalRepository.findViews(any(), anyBoolean(), anyBoolean(), eq(3)))
+            .thenReturn(Arrays.asList(view(1L), view(2L), view(3L)));
+        RentalFilterDTO filter = new RentalFilterDTO();
+        filter.setLimit(2);
 
         // Act
-        List<RentalModel> result = rentalService.listRentals();
+        RentalPageDTO result = rentalService.listRentals(filter);
 
         // Assert
-        assertEquals(expectedRentals.size(), result.size());
-        assertEquals(expectedRentals, result);
-        verify(rentalRepository, times(1)).findAll();
+        assertEquals(2, result.getRentals().size());
+        assertEquals(2L, result.getNextCursor());
+    }
+
+    @Test
+    void listRentals_WithExpand_ShouldSelectNestedColumns() {
+        // Arrange
+        when(rentalRepository.findViews(any(), anyBoolean(), anyBoolean(), anyInt())).thenReturn(List.of());
+        RentalFilterDTO filter = new RentalFilterDTO();
+        filter.setExpand("customer, game");
+
+        // Act
+        rentalService.listRentals(filter);
+
+        // Assert
+        verify(rentalRepository, times(1)).findViews(any(), eq(true), eq(true), anyInt());
+    }
+
+    @Test
+    void listRentals_WithInvalidExpand_ShouldThrowException() {
+        // Arrange
+        RentalFilterDTO filter = new RentalFilterDTO();
+        filter.setExpand("customer,payments");
+
+        // Act & Assert
+        BusinessException exception = assertThrows(
+            BusinessException.class,
+            () -> rentalService.listRentals(filter)
+        );
+
+        assertTrue(exception.getMessage().contains("Expansão inválida"));
+        verify(rentalRepository, never()).findViews(any(), anyBoolean(), anyBoolean(), anyInt());
+    }
+
+    @Test
+    void listRentals_WithInvalidLimit_ShouldThrowException() {
+        // Arrange
+        RentalFilterDTO filter = new RentalFilterDTO();
+        filter.setLimit(RentalService.MAX_PAGE_SIZE + 1);
+
+        // Act & Assert
+        BusinessException exception = assertThrows(
+            BusinessException.class,
+            () -> rentalService.listRentals(filter)
+        );
+
+        assertTrue(exception.getMessage().contains("Limite inválido"));
+    }
+
+    @Test
+    void listRentals_WithInvalidStatus_ShouldThrowException() {
+        // Arrange
+        RentalFilterDTO filter = new RentalFilterDTO();
+        filter.setStatus("pending");
+
+        // Act & Assert
+        BusinessException exception = assertThrows(
+            BusinessException.class,
+            () -> rentalService.listRentals(filter)
+        );
+
+        assertTrue(exception.getMessage().contains("Status inválido"));
     }
 
     @Test
     void createRental_WithValidData_ShouldReturnCreatedRental() {
         // Arrange
-        when(customerRepository.findById(validRentalDTO.getCustomerId())).thenReturn(Optional.of(customer));
-        when(gameRepository.findById(validRentalDTO.getGameId())).thenReturn(Optional.of(game));
-        when(rentalRepository.countByGameAndReturnDateIsNull(game)).thenReturn(0L);
+        when(customerRepository.findViewById(validRentalDTO.getCustomerId()))
+            .thenReturn(Optional.of(CustomerResponseDTO.from(customer)));
+        when(gameRepository.findViewById(validRentalDTO.getGameId())).thenReturn(Optional.of(GameResponseDTO.from(game)));
+        when(customerRepository.getReferenceById(customer.getId())).thenReturn(customer);
+        when(gameRepository.getReferenceById(game.getId())).thenReturn(game);
+        when(stockService.reserve(game.getId())).thenReturn(true);
         when(rentalRepository.save(any(RentalModel.class))).thenReturn(validRentalModel);
 
         // Act
@@ -88,117 +197,251 @@ public class RentalServiceTest {
 
         // Assert
         assertNotNull(result);
+        verify(rentalRepository).save(argThat(rental -> rental.getCustomer() == customer && rental.getGame() == game
+            && rental.getOriginalPrice() == 3 * game.getPricePerDay()));
+        verify(customerRepository, never()).findById(any());
+        verify(gameRepository, never()).findById(any());
         assertEquals(validRentalModel.getId(), result.getId());
         assertEquals(validRentalModel.getCustomer(), result.getCustomer());
         assertEquals(validRentalModel.getGame(), result.getGame());
         assertEquals(validRentalModel.getDaysRented(), result.getDaysRented());
         assertEquals(validRentalModel.getOriginalPrice(), result.getOriginalPrice());
-        verify(customerRepository, times(1)).findById(validRentalDTO.getCustomerId());
-        verify(gameRepository, times(1)).findById(validRentalDTO.getGameId());
-        verify(rentalRepository, times(1)).countByGameAndReturnDateIsNull(game);
+        verify(customerRepository, times(1)).findViewById(validRentalDTO.getCustomerId());
+        verify(gameRepository, times(1)).findViewById(validRentalDTO.getGameId());
+        verify(stockService, times(1)).reserve(game.getId());
         verify(rentalRepository, times(1)).save(any(RentalModel.class));
+        verify(availabilityIndex, times(1)).rentalOpened(game.getId());
+    }
+
+    @Test
+    void createRental_WhenIndexIsStale_ShouldLetTheDatabaseReservationDecide() {
+        // Arrange
+        when(availabilityIndex.isKnownOutOfStock(validRentalDTO.getGameId())).thenReturn(true);
+        when(customerRepository.findViewById(validRentalDTO.getCustomerId()))
+            .thenReturn(Optional.of(CustomerResponseDTO.from(customer)));
+        when(gameRepository.findViewById(validRentalDTO.getGameId())).thenReturn(Optional.of(GameResponseDTO.from(game)));
+        when(stockService.reserve(game.getId())).thenReturn(true);
+        when(rentalRepository.save(any(RentalModel.class))).thenReturn(validRentalModel);
+
+        // Act
+        RentalModel result = rentalService.createRental(validRentalDTO);
+
+        // Assert
+        assertEquals(validRentalModel.getId(), result.getId());
+        verify(stockService, times(1)).reserve(game.getId());
     }
 
     @Test
     void createRental_WithInvalidCustomerId_ShouldThrowException() {
         // Arrange
-        when(customerRepository.findById(validRentalDTO.getCustomerId())).thenReturn(Optional.empty());
+        when(customerRepository.findViewById(validRentalDTO.getCustomerId())).thenReturn(Optional.empty());
 
         // Act & Assert
-        ResponseStatusException exception = assertThrows(
-            ResponseStatusException.class,
+        BusinessException exception = assertThrows(
+            BusinessException.class,
             () -> rentalService.createRental(validRentalDTO)
         );
         
         assertTrue(exception.getMessage().contains("Cliente não encontrado"));
-        verify(customerRepository, times(1)).findById(validRentalDTO.getCustomerId());
-        verify(gameRepository, never()).findById(any());
-        verify(rentalRepository, never()).countByGameAndReturnDateIsNull(any());
+        verify(customerRepository, times(1)).findViewById(validRentalDTO.getCustomerId());
+        verify(gameRepository, never()).findViewById(any());
+        verify(stockService, never()).reserve(any());
         verify(rentalRepository, never()).save(any());
     }
 
     @Test
     void createRental_WithInvalidGameId_ShouldThrowException() {
         // Arrange
-        when(customerRepository.findById(validRentalDTO.getCustomerId())).thenReturn(Optional.of(customer));
-        when(gameRepository.findById(validRentalDTO.getGameId())).thenReturn(Optional.empty());
+        when(customerRepository.findViewById(validRentalDTO.getCustomerId()))
+            .thenReturn(Optional.of(CustomerResponseDTO.from(customer)));
+        when(gameRepository.findViewById(validRentalDTO.getGameId())).thenReturn(Optional.empty());
 
         // Act & Assert
-        ResponseStatusException exception = assertThrows(
-            ResponseStatusException.class,
+        BusinessException exception = assertThrows(
+            BusinessException.class,
             () -> rentalService.createRental(validRentalDTO)
         );
         
         assertTrue(exception.getMessage().contains("Jogo não encontrado"));
-        verify(customerRepository, times(1)).findById(validRentalDTO.getCustomerId());
-        verify(gameRepository, times(1)).findById(validRentalDTO.getGameId());
-        verify(rentalRepository, never()).countByGameAndReturnDateIsNull(any());
+        verify(customerRepository, times(1)).findViewById(validRentalDTO.getCustomerId());
+        verify(gameRepository, times(1)).findViewById(validRentalDTO.getGameId());
+        verify(stockService, never()).reserve(any());
         verify(rentalRepository, never()).save(any());
     }
 
     @Test
     void createRental_WithNoStockAvailable_ShouldThrowException() {
         // Arrange
-        when(customerRepository.findById(validRentalDTO.getCustomerId())).thenReturn(Optional.of(customer));
-        when(gameRepository.findById(validRentalDTO.getGameId())).thenReturn(Optional.of(game));
-        when(rentalRepository.countByGameAndReturnDateIsNull(game)).thenReturn(5L); // All games rented
+        when(customerRepository.findViewById(validRentalDTO.getCustomerId()))
+            .thenReturn(Optional.of(CustomerResponseDTO.from(customer)));
+        when(gameRepository.findViewById(validRentalDTO.getGameId())).thenReturn(Optional.of(GameResponseDTO.from(game)));
+        when(stockService.reserve(game.getId())).thenReturn(false); // All games rented
 
         // Act & Assert
-        ResponseStatusException exception = assertThrows(
-            ResponseStatusException.class,
+        BusinessException exception = assertThrows(
+            BusinessException.class,
             () -> rentalService.createRental(validRentalDTO)
         );
         
         assertTrue(exception.getMessage().contains("Sem estoque disponível"));
-        verify(customerRepository, times(1)).findById(validRentalDTO.getCustomerId());
-        verify(gameRepository, times(1)).findById(validRentalDTO.getGameId());
-        verify(rentalRepository, times(1)).countByGameAndReturnDateIsNull(game);
+        assertSame(ErrorCode.NO_STOCK.exception(), exception);
+        assertEquals(0, exception.getStackTrace().length);
+        verify(customerRepository, times(1)).findViewById(validRentalDTO.getCustomerId());
+        verify(gameRepository, times(1)).findViewById(validRentalDTO.getGameId());
+        verify(stockService, times(1)).reserve(game.getId());
         verify(rentalRepository, never()).save(any());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void createRentals_WithValidBatch_ShouldReservePerGameAndSaveAll() {
+        // Arrange
+        List<RentalDTO> batch = List.of(new RentalDTO(1L, 1L, 3), new RentalDTO(1L, 1L, 2));
+        when(customerRepository.findAllById(any())).thenReturn(List.of(customer));
+        when(gameRepository.findAllById(any())).thenReturn(List.of(game));
+        when(stockService.reserve(game.getId(), 2)).thenReturn(true);
+        when(rentalRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<RentalModel> saved = invocation.getArgument(0);
+            long id = 1;
+            for (RentalModel rental : saved) {
+                rental.setId(id++);
+            }
+            return saved;
+        });
+
+        // Act
+        List<RentalModel> result = rentalService.createRentals(batch);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(4500, result.get(0).getOriginalPrice());
+        assertEquals(3000, result.get(1).getOriginalPrice());
+        verify(stockService, times(1)).reserve(game.getId(), 2);
+        verify(customerRepository, never()).findById(any());
+        verify(gameRepository, never()).findViewById(any());
+        verify(availabilityIndex, times(1)).rentalsOpened(game.getId(), 2);
+        verify(outboxRepository, times(1)).saveAll(argThat((List<RentalOutboxModel> rows) -> rows.size() == 2
+                && rows.stream().allMatch(row -> row.getType() == RentalEvent.Type.OPENED)));
+    }
+
+    @Test
+    void createRentals_WithUnknownGame_ShouldThrowException() {
+        // Arrange
+        List<RentalDTO> batch = List.of(new RentalDTO(1L, 1L, 3), new RentalDTO(1L, 2L, 3));
+        when(customerRepository.findAllById(any())).thenReturn(List.of(customer));
+        when(gameRepository.findAllById(any())).thenReturn(List.of(game));
+
+        // Act & Assert
+        BusinessException exception = assertThrows(
+            BusinessException.class,
+            () -> rentalService.createRentals(batch)
+        );
+
+        assertTrue(exception.getMessage().contains("Jogo não encontrado"));
+        verify(stockService, never()).reserve(any(), anyInt());
+        verify(rentalRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createRentals_WithNotEnoughStock_ShouldThrowException() {
+        // Arrange
+        List<RentalDTO> batch = List.of(new RentalDTO(1L, 1L, 3), new RentalDTO(1L, 1L, 3));
+        when(customerRepository.findAllById(any())).thenReturn(List.of(customer));
+        when(gameRepository.findAllById(any())).thenReturn(List.of(game));
+        when(stockService.reserve(game.getId(), 2)).thenReturn(false);
+
+        // Act & Assert
+        BusinessException exception = assertThrows(
+            BusinessException.class,
+            () -> rentalService.createRentals(batch)
+        );
+
+        assertTrue(exception.getMessage().contains("Sem estoque disponível"));
+        verify(rentalRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createRentals_WithNullElement_ShouldRejectBatch() {
+        // Arrange
+        List<RentalDTO> batch = Arrays.asList(new RentalDTO(1L, 1L, 3), null);
+
+        // Act & Assert
+        BusinessException exception = assertThrows(
+            BusinessException.class,
+            () -> rentalService.createRentals(batch)
+        );
+
+        assertSame(ErrorCode.INVALID_BATCH.exception(), exception);
+        verifyNoInteractions(customerRepository, gameRepository, stockService);
+    }
+
+    @Test
+    void createRentals_WithEmptyBatch_ShouldThrowException() {
+        // Act & Assert
+        BusinessException exception = assertThrows(
+            BusinessException.class,
+            () -> rentalService.createRentals(List.of())
+        );
+
+        assertTrue(exception.getMessage().contains("Lote inválido"));
+    }
+
     @Test
     void finalizeRental_WithValidId_ShouldReturnFinalizedRental() {
         // Arrange
         Long rentalId = 1L;
-        when(rentalRepository.findById(rentalId)).thenReturn(Optional.of(validRentalModel));
-        
-        RentalModel expectedFinalized = new RentalModel(
-            validRentalModel.getId(),
-            validRentalModel.getCustomer(),
-            validRentalModel.getGame(),
-            validRentalModel.getRentDate(),
-            validRentalModel.getDaysRented(),
-            LocalDate.now(),
-            validRentalModel.getOriginalPrice(),
-            0 // No delay fee
-        );
-        when(rentalRepository.save(any(RentalModel.class))).thenReturn(expectedFinalized);
+        when(rentalRepository.findWithCustomerAndGameById(rentalId)).thenReturn(Optional.of(validRentalModel));
+        when(rentalRepository.close(eq(rentalId), any(LocalDate.class), anyInt())).thenReturn(1);
 
         // Act
         RentalModel result = rentalService.finalizeRental(rentalId);
 
         // Assert
         assertNotNull(result);
-        assertEquals(expectedFinalized.getId(), result.getId());
-        assertNotNull(result.getReturnDate());
-        verify(rentalRepository, times(1)).findById(rentalId);
-        verify(rentalRepository, times(1)).save(any(RentalModel.class));
+        assertEquals(validRentalModel.getId(), result.getId());
+        assertEquals(LocalDate.now(), result.getReturnDate());
+        verify(rentalRepository, times(1)).findWithCustomerAndGameById(rentalId);
+        verify(rentalRepository, times(1)).close(rentalId, LocalDate.now(), result.getDelayFee());
+        verify(stockService, times(1)).release(game.getId());
+        verify(availabilityIndex, times(1)).rentalClosed(game.getId());
+        verify(rentalRepository, never()).save(any());
+        verify(outboxRepository, times(1)).save(argThat(row -> row.getType() == RentalEvent.Type.RETURNED
+                && row.getRentalId() == validRentalModel.getId() && row.getGameId() == game.getId()));
+    }
+
+    @Test
+    void finalizeRental_ClosedConcurrently_ShouldThrowWithoutReleasingStock() {
+        // Arrange
+        Long rentalId = 1L;
+        when(rentalRepository.findWithCustomerAndGameById(rentalId)).thenReturn(Optional.of(validRentalModel));
+        when(rentalRepository.close(eq(rentalId), any(LocalDate.class), anyInt())).thenReturn(0);
+
+        // Act & Assert
+        BusinessException exception = assertThrows(
+            BusinessException.class,
+            () -> rentalService.finalizeRental(rentalId)
+        );
+
+        assertTrue(exception.getMessage().contains("Aluguel já finalizado"));
+        verify(stockService, never()).release(any());
+        verify(availabilityIndex, never()).rentalClosed(anyLong());
+        verify(outboxRepository, never()).save(any());
     }
 
     @Test
     void finalizeRental_WithInvalidId_ShouldThrowException() {
         // Arrange
         Long invalidId = 999L;
-        when(rentalRepository.findById(invalidId)).thenReturn(Optional.empty());
+        when(rentalRepository.findWithCustomerAndGameById(invalidId)).thenReturn(Optional.empty());
 
         // Act & Assert
-        ResponseStatusException exception = assertThrows(
-            ResponseStatusException.class,
+        BusinessException exception = assertThrows(
+            BusinessException.class,
             () -> rentalService.finalizeRental(invalidId)
         );
         
         assertTrue(exception.getMessage().contains("Aluguel não encontrado"));
-        verify(rentalRepository, times(1)).findById(invalidId);
+        verify(rentalRepository, times(1)).findWithCustomerAndGameById(invalidId);
         verify(rentalRepository, never()).save(any());
     }
 
@@ -206,17 +449,18 @@ public class RentalServiceTest {
     void finalizeRental_AlreadyFinalized_ShouldThrowException() {
         // Arrange
         Long rentalId = 1L;
-        when(rentalRepository.findById(rentalId)).thenReturn(Optional.of(finishedRentalModel));
+        when(rentalRepository.findWithCustomerAndGameById(rentalId)).thenReturn(Optional.of(finishedRentalModel));
 
         // Act & Assert
-        ResponseStatusException exception = assertThrows(
-            ResponseStatusException.class,
+        BusinessException exception = assertThrows(
+            BusinessException.class,
             () -> rentalService.finalizeRental(rentalId)
         );
         
         assertTrue(exception.getMessage().contains("Aluguel já finalizado"));
-        verify(rentalRepository, times(1)).findById(rentalId);
-        verify(rentalRepository, never()).save(any());
+        verify(rentalRepository, times(1)).findWithCustomerAndGameById(rentalId);
+        verify(stockService, never()).release(any());
+        verify(rentalRepository, never()).close(any(), any(), anyInt());
     }
 
     @Test
@@ -232,6 +476,8 @@ public class RentalServiceTest {
         // Assert
         verify(rentalRepository, times(1)).findById(rentalId);
         verify(rentalRepository, times(1)).delete(finishedRentalModel);
+        verify(outboxRepository, times(1)).save(argThat(row -> row.getType() == RentalEvent.Type.DELETED
+                && row.getRentalId() == finishedRentalModel.getId()));
     }
 
     @Test
@@ -241,14 +487,14 @@ public class RentalServiceTest {
         when(rentalRepository.findById(invalidId)).thenReturn(Optional.empty());
 
         // Act & Assert
-        ResponseStatusException exception = assertThrows(
-            ResponseStatusException.class,
+        BusinessException exception = assertThrows(
+            BusinessException.class,
             () -> rentalService.deleteRental(invalidId)
         );
         
         assertTrue(exception.getMessage().contains("Aluguel não encontrado"));
         verify(rentalRepository, times(1)).findById(invalidId);
-        verify(rentalRepository, never()).delete(any());
+        verify(rentalRepository, never()).delete(any(RentalModel.class));
     }
 
     @Test
@@ -258,13 +504,18 @@ public class RentalServiceTest {
         when(rentalRepository.findById(rentalId)).thenReturn(Optional.of(validRentalModel)); // not finalized
 
         // Act & Assert
-        ResponseStatusException exception = assertThrows(
-            ResponseStatusException.class,
+        BusinessException exception = assertThrows(
+            BusinessException.class,
             () -> rentalService.deleteRental(rentalId)
         );
         
         assertTrue(exception.getMessage().contains("Aluguel não finalizado"));
         verify(rentalRepository, times(1)).findById(rentalId);
-        verify(rentalRepository, never()).delete(any());
+        verify(rentalRepository, never()).delete(any(RentalModel.class));
+    }
+
+    private RentalResponseDTO view(Long id) {
+        return new RentalResponseDTO(id, customer.getId(), game.getId(), LocalDate.now(), 3, null, 4500, 0,
+            LocalDate.now().plusDays(3), null, null, null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,91 @@
+package com.boardcamp.unit.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.boardcamp.dtos.DailyRollupDTO;
+import com.boardcamp.dtos.RevenueReportDTO;
+import com.boardcamp.dtos.UtilizationReportDTO;
+import com.boardcamp.exceptions.BusinessException;
+import com.boardcamp.repositories.RentalDailyRollupRepository;
+import com.boardcamp.repositories.RentalRepository;
+import com.boardcamp.repositories.RentalTotals;
+import com.boardcamp.services.ReportService;
+
+public class ReportServiceTest {
+
+    @InjectMocks
+    private ReportService reportService;
+
+    @Mock
+    private RentalRepository rentalRepository;
+
+    @Mock
+    private RentalDailyRollupRepository rollupRepository;
+
+    private final LocalDate from = LocalDate.of(2024, 12, 28);
+    private final LocalDate to = LocalDate.of(2025, 1, 31);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void revenue_GroupedByWeek_RollsUpDailyTotalsIntoIsoWeeks() {
+        // 2024-12-30 (segunda) abre a semana 2025-W01, que termina em 2025-01-05
+        when(rentalRepository.sumByDay(from, to)).thenReturn(List.of(
+            new RentalTotals(LocalDate.of(2024, 12, 29), 1L, 1000L, 0L, 2L),
+            new RentalTotals(LocalDate.of(2024, 12, 30), 2L, 3000L, 500L, 5L),
+            new RentalTotals(LocalDate.of(2025, 1, 5), 1L, 1000L, 0L, 1L),
+            new RentalTotals(LocalDate.of(2025, 1, 6), 1L, 2000L, 0L, 4L)));
+
+        List<RevenueReportDTO> result = reportService.revenue(from, to, "week");
+
+        assertEquals(List.of(
+            new RevenueReportDTO("2024-W52", null, 1, 1000, 0, 1000),
+            new RevenueReportDTO("2025-W01", null, 3, 4000, 500, 4500),
+            new RevenueReportDTO("2025-W02", null, 1, 2000, 0, 2000)), result);
+    }
+
+    @Test
+    void utilization_GroupedByGame_DividesRentalDaysByStockDays() {
+        when(rentalRepository.sumByGame(from, to)).thenReturn(List.of(
+            new RentalTotals(1L, "Xadrez", 2, 3L, 3000L, 0L, 14L),
+            new RentalTotals(2L, "Esgotado", 0, 1L, 1000L, 0L, 2L)));
+
+        List<UtilizationReportDTO> result = reportService.utilization(from, to, null);
+
+        assertEquals(0.2, result.get(0).occupancy(), 1e-9);
+        assertNull(result.get(1).occupancy());
+        verify(rentalRepository, never()).sumByDay(any(), any());
+    }
+
+    @Test
+    void revenue_WithUnknownGrouping_ThrowsBadRequest() {
+        BusinessException exception = assertThrows(BusinessException.class,
+            () -> reportService.revenue(from, to, "year"));
+
+        assertEquals("Agrupamento inválido", exception.getMessage());
+        verifyNoInteractions(rentalRepository);
+    }
+
+    @Test
+    void daily_WithGame_ReadsOnlyThatGameRollups() {
+        List<DailyRollupDTO> rows = List.of(new DailyRollupDTO(from, 7L, 2, 1, 3000L, 500L));
+        when(rollupRepository.findByGame(7L, from, to)).thenReturn(rows);
+
+        assertEquals(rows, reportService.daily(from, to, 7L));
+        verify(rollupRepository, never()).sumByDay(any(), any());
+        verifyNoInteractions(rentalRepository);
+    }
+}
@@ -0,0 +1,46 @@
+package com.boardcamp.unit.validators;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.boardcamp.dtos.CustomerDTO;
+import com.boardcamp.exceptions.ErrorCode;
+import com.boardcamp.validators.CustomerValidator;
+
+public class CustomerValidatorTest {
+
+    @Test
+    void isValidCpf_WithCorrectCheckDigits_ShouldAccept() {
+        assertTrue(CustomerValidator.isValidCpf("52998224725"));
+        assertTrue(CustomerValidator.isValidCpf("11144477735"));
+        assertTrue(CustomerValidator.isValidCpf("71460238001"));
+    }
+
+    @Test
+    void isValidCpf_WithWrongCheckDigits_ShouldReject() {
+        assertFalse(CustomerValidator.isValidCpf("52998224724"));
+        assertFalse(CustomerValidator.isValidCpf("52998224715"));
+        assertFalse(CustomerValidator.isValidCpf("12345678901"));
+    }
+
+    @Test
+    void isValidCpf_WithRepeatedDigitsOrBadFormat_ShouldReject() {
+        assertFalse(CustomerValidator.isValidCpf("11111111111"));
+        assertFalse(CustomerValidator.isValidCpf("00000000000"));
+        assertFalse(CustomerValidator.isValidCpf("529.982.247-25"));
+        assertFalse(CustomerValidator.isValidCpf("5299822472"));
+        assertFalse(CustomerValidator.isValidCpf(null));
+    }
+
+    @Test
+    void validate_ShouldReturnFirstBrokenRule() {
+        assertNull(CustomerValidator.validate(new CustomerDTO("Ana", "11999999999", "52998224725")));
+        assertEquals(ErrorCode.NAME_REQUIRED, CustomerValidator.validate(new CustomerDTO(" ", "119", "123")));
+        assertEquals(ErrorCode.INVALID_CPF, CustomerValidator.validate(new CustomerDTO("Ana", "119", "123")));
+        assertEquals(ErrorCode.INVALID_PHONE,
+                CustomerValidator.validate(new CustomerDTO("Ana", "11 99999-9999", "52998224725")));
+        assertEquals(ErrorCode.INVALID_PHONE,
+                CustomerValidator.validate(new CustomerDTO("Ana", "119999999991", "52998224725")));
+    }
+}